@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+import com.simsilica.lemur.Button;
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.Label;
+
+
+/**
+ *  Shared setup for the benchmarks.  Starts a headless application
+ *  so that GuiGlobals can be initialized without a display or GPU and
+ *  provides some helpers for building test GUIs.  The GUIs are never
+ *  attached to the application's scene so they can be freely used from
+ *  the benchmark threads.
+ */
+public class BenchSupport {
+
+    private static SimpleApplication app;
+
+    public static synchronized void initialize() {
+        if( app != null ) {
+            return;
+        }
+        final CountDownLatch ready = new CountDownLatch(1);
+        app = new SimpleApplication(new AppState[0]) {
+            @Override
+            public void simpleInitApp() {
+                ready.countDown();
+            }
+        };
+        AppSettings settings = new AppSettings(true);
+        // The headless loop has nothing to do so keep it mostly asleep
+        settings.setFrameRate(10);
+        app.setSettings(settings);
+        app.setShowSettings(false);
+        app.start(JmeContext.Type.Headless);
+
+        try {
+            if( !ready.await(30, TimeUnit.SECONDS) ) {
+                throw new IllegalStateException("Timed out waiting for headless application to start");
+            }
+        } catch( InterruptedException e ) {
+            throw new RuntimeException("Interrupted waiting for headless application", e);
+        }
+
+        GuiGlobals.initialize(app);
+    }
+
+    /**
+     *  Fills the specified container with a tree of nested containers
+     *  that is 'depth' levels deep and 'width' children wide at each level.
+     *  The leaves are labels.  Returns the last leaf label created.
+     */
+    public static Label populateTree( Container parent, int depth, int width ) {
+        Label last = null;
+        for( int i = 0; i < width; i++ ) {
+            if( depth <= 1 ) {
+                last = parent.addChild(new Label("Label " + i));
+            } else {
+                Container child = parent.addChild(new Container());
+                last = populateTree(child, depth - 1, width);
+            }
+        }
+        return last;
+    }
+
+    /**
+     *  Fills the specified container with a rows x columns grid
+     *  of buttons.
+     */
+    public static void populateButtonGrid( Container parent, int rows, int columns ) {
+        for( int r = 0; r < rows; r++ ) {
+            for( int c = 0; c < columns; c++ ) {
+                parent.addChild(new Button("Item " + r + "," + c), r, c);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.lemur.text.DefaultDocumentModel;
+
+
+/**
+ *  Measures common DefaultDocumentModel edits on a document
+ *  of a given number of lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DocumentBenchmark {
+
+    @Param({"100", "10000"})
+    public int lineCount;
+
+    private String initialText;
+    private String pasteText;
+    private DefaultDocumentModel model;
+
+    @Setup(Level.Trial)
+    public void setupText() {
+        StringBuilder sb = new StringBuilder();
+        for( int i = 0; i < lineCount; i++ ) {
+            if( i > 0 ) {
+                sb.append('\n');
+            }
+            sb.append("The quick brown fox jumped over the lazy dog. Line:").append(i);
+        }
+        initialText = sb.toString();
+
+        sb.setLength(0);
+        for( int i = 0; i < 64; i++ ) {
+            sb.append("paste");
+        }
+        pasteText = sb.toString();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupModel() {
+        model = new DefaultDocumentModel(initialText);
+
+        // Put the carat in the middle of the document
+        for( int i = 0; i < lineCount / 2; i++ ) {
+            model.down();
+        }
+    }
+
+    @Benchmark
+    public String typeAndGetText() {
+        model.insert('x');
+        return model.getText();
+    }
+
+    @Benchmark
+    public long typeAndBackspace() {
+        model.insert('x');
+        model.backspace();
+        return model.getVersion();
+    }
+
+    @Benchmark
+    public long pasteAndGetCarat() {
+        model.insert(pasteText);
+        return model.getCarat();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.Vector3f;
+
+import com.simsilica.lemur.Axis;
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.FillMode;
+import com.simsilica.lemur.Label;
+import com.simsilica.lemur.component.BorderLayout;
+import com.simsilica.lemur.component.BoxLayout;
+import com.simsilica.lemur.component.SpringGridLayout;
+import com.simsilica.lemur.core.GuiLayout;
+
+
+/**
+ *  Measures a direct reshape() of the standard layouts.  The size
+ *  alternates between two values so that the children are really
+ *  resized each time.  BorderLayout only ever has its five positions
+ *  filled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LayoutReshapeBenchmark {
+
+    @Param({"SpringGrid", "Box", "Border"})
+    public String layoutType;
+
+    @Param({"100", "1600"})
+    public int childCount;
+
+    private GuiLayout layout;
+    private Vector3f pos = new Vector3f();
+    private Vector3f size = new Vector3f();
+    private Vector3f size1;
+    private Vector3f size2;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        BenchSupport.initialize();
+
+        Container container;
+        if( "SpringGrid".equals(layoutType) ) {
+            layout = new SpringGridLayout(Axis.Y, Axis.X, FillMode.Even, FillMode.Even);
+            container = new Container(layout);
+            int columns = (int)Math.ceil(Math.sqrt(childCount));
+            for( int i = 0; i < childCount; i++ ) {
+                container.addChild(new Label("Item " + i), i / columns, i % columns);
+            }
+        } else if( "Box".equals(layoutType) ) {
+            layout = new BoxLayout(Axis.Y, FillMode.Even);
+            container = new Container(layout);
+            for( int i = 0; i < childCount; i++ ) {
+                container.addChild(new Label("Item " + i));
+            }
+        } else if( "Border".equals(layoutType) ) {
+            layout = new BorderLayout();
+            container = new Container(layout);
+            for( BorderLayout.Position p : BorderLayout.Position.values() ) {
+                container.addChild(new Label(p.name()), p);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown layout type:" + layoutType);
+        }
+
+        Vector3f pref = container.getPreferredSize();
+        size1 = pref.clone();
+        size2 = pref.mult(1.5f);
+    }
+
+    @Benchmark
+    public GuiLayout reshape() {
+        flip = !flip;
+        pos.set(0, 0, 0);
+        size.set(flip ? size1 : size2);
+        layout.reshape(pos, size);
+        return layout;
+    }
+}
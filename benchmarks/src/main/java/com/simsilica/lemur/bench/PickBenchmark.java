@@ -0,0 +1,119 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Node;
+
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.event.PickEventSession;
+
+
+/**
+ *  Measures PickEventSession.cursorMoved() against a Gui bucket
+ *  root containing a grid of buttons.  The cursor alternates between
+ *  a spot over a button and a spot next to the grid over nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PickBenchmark {
+
+    @Param({"10", "40"})
+    public int gridSize;
+
+    @Param({"false", "true"})
+    public boolean pickIndex;
+
+    private PickEventSession session;
+    private int hitX;
+    private int hitY;
+    private int missX;
+    private int missY;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        BenchSupport.initialize();
+
+        Node guiNode = new Node("Gui Node");
+        guiNode.setQueueBucket(Bucket.Gui);
+
+        Container grid = new Container();
+        BenchSupport.populateButtonGrid(grid, gridSize, gridSize);
+        grid.getControl(GuiControl.class).update(0);
+        grid.setLocalTranslation(0, 1000, 0);
+        guiNode.attachChild(grid);
+        guiNode.updateLogicalState(0);
+        guiNode.updateGeometricState();
+
+        // Somewhere in the middle of the grid
+        hitX = (int)(grid.getSize().x * 0.5f);
+        hitY = (int)(1000 - grid.getSize().y * 0.5f);
+
+        // And just to the right of it
+        missX = (int)(grid.getSize().x + 10);
+        missY = hitY;
+
+        Camera cam = new Camera((int)grid.getSize().x + 100, 1000);
+        ViewPort view = new ViewPort("Gui", cam);
+        view.attachScene(guiNode);
+
+        session = new PickEventSession();
+        session.setPickIndexEnabled(pickIndex);
+        session.addCollisionRoot(guiNode, view);
+    }
+
+    @Benchmark
+    public boolean cursorMoved() {
+        flip = !flip;
+        if( flip ) {
+            return session.cursorMoved(hitX, hitY);
+        }
+        return session.cursorMoved(missX, missY);
+    }
+}
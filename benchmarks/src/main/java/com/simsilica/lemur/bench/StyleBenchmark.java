@@ -0,0 +1,113 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.jme3.math.ColorRGBA;
+
+import com.simsilica.lemur.Insets3f;
+import com.simsilica.lemur.Label;
+import com.simsilica.lemur.style.Attributes;
+import com.simsilica.lemur.style.ElementId;
+import com.simsilica.lemur.style.StyleTree;
+import com.simsilica.lemur.style.Styles;
+
+
+/**
+ *  Measures style application to an existing element and the
+ *  cold and warm resolution of compiled attributes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StyleBenchmark {
+
+    private static final String STYLE = "bench";
+
+    private Styles styles;
+    private StyleTree tree;
+    private ElementId labelId = new ElementId("list.items.label");
+    private Label label;
+
+    @Setup
+    public void setup() {
+        BenchSupport.initialize();
+
+        styles = new Styles();
+        styles.getSelector(STYLE).set("fontSize", 14);
+        styles.getSelector("label", STYLE).set("color", ColorRGBA.White);
+        styles.getSelector("label", STYLE).set("insets", new Insets3f(2, 2, 2, 2));
+        styles.getSelector("items.label", STYLE).set("fontSize", 16);
+        styles.getSelector("list", "label", STYLE).set("color", ColorRGBA.Yellow);
+        styles.getSelector("label", null).set("shadowColor", ColorRGBA.Black);
+
+        tree = new StyleTree(styles);
+        tree.getSelector(new ElementId("label"), true).set("color", ColorRGBA.White);
+        tree.getSelector(new ElementId("items.label"), true).set("fontSize", 16);
+        tree.getSelector(new ElementId("list"), new ElementId("label"), true).set("color", ColorRGBA.Yellow);
+
+        label = new Label("Test", labelId);
+    }
+
+    @Benchmark
+    public Label applyStyles() {
+        styles.applyStyles(label, labelId, STYLE);
+        return label;
+    }
+
+    @Benchmark
+    public Attributes getAttributesCached() {
+        return styles.getAttributes(labelId, STYLE);
+    }
+
+    @Benchmark
+    public Attributes getAttributesCold() {
+        styles.clearCache();
+        return styles.getAttributes(labelId, STYLE);
+    }
+
+    @Benchmark
+    public Attributes styleTreeGetAttributes() {
+        return tree.getAttributes(labelId);
+    }
+}
@@ -97,6 +97,16 @@ public class Panel extends Node {
     private ElementId elementId;
     private String style;
 
+    // The alpha multiplier for this panel and its children, the
+    // alpha last inherited from above, the effective result, whether
+    // the components currently have that result, and whether the result
+    // needs to be recalculated.
+    private float alpha = 1;
+    private float inheritedAlpha = 1;
+    private float appliedAlpha = 1;
+    private boolean componentAlphaValid = true;
+    private boolean alphaDirty;
+
     public Panel() {
         this(true, new ElementId(ELEMENT_ID), null);
     }
@@ -281,7 +291,8 @@ public class Panel extends Node {
      *  panels component stack, including things like QuadBackgroundComponent,
      *  TextComponent, etc..  This can be used to generally fade a GUI element
      *  in or out as needed as long as its visuals are ColoredComponent
-     *  compliant.
+     *  compliant.  The alpha is inherited by child panels, multiplied
+     *  with their own.  See setAlpha(float, boolean).
      */
     @StyleAttribute(value="alpha", lookupDefault=false)
     public void setAlpha( float alpha ) {
@@ -293,27 +304,45 @@ public class Panel extends Node {
      *  panels component stack, including things like QuadBackgroundComponent,
      *  TextComponent, etc..  This can be used to generally fade a GUI element
      *  in or out as needed as long as its visuals are ColoredComponent
-     *  compliant.  If recursive is true then all child Spatials will also
-     *  be checked and have their alpha set, and their children, and so on.
+     *  compliant.  
+     *
+     *  <p>If recursive is true then the alpha becomes this panel's inherited
+     *  alpha multiplier.  The effective alpha of this panel and every panel
+     *  below it is its own multiplier times that of its nearest parent panel.
+     *  Effective alphas are resolved at most once per frame during the logical
+     *  state update and only pushed to the components of panels whose effective
+     *  alpha actually changed.  A panel with no parent is resolved right away.</p>
+     *
+     *  <p>If recursive is false then the alpha is set directly on only
+     *  this panel's components and is replaced the next time an ancestor's
+     *  alpha changes.</p>
      */
     public void setAlpha( float alpha, boolean recursive ) {
-        for( GuiComponent c : getControl(GuiControl.class).getComponents() ) {
-            if( c instanceof ColoredComponent ) {
-                ((ColoredComponent)c).setAlpha(alpha);
-            }
+        if( !recursive ) {
+            applyAlpha(alpha);
+            // The components no longer have the effective alpha so the
+            // next resolve must push it again
+            componentAlphaValid = false;
+            return;
+        }
+        if( this.alpha == alpha && !alphaDirty && componentAlphaValid ) {
+            return;
+        }
+        this.alpha = alpha;
+        if( getParent() == null ) {
+            resolveAlpha(1);
+        } else {
+            alphaDirty = true;
         }
- 
-        if( recursive ) {       
-            // also do any children that are panels
-            for( Spatial s : getChildren() ) {
-                setChildAlpha(s, alpha);
-            }
-        }        
     }
-    
+ 
+    /**
+     *  Propagates the specified inherited alpha to any panels
+     *  at or below the specified child.
+     */   
     protected void setChildAlpha( Spatial child, float alpha ) {
         if( child instanceof Panel ) {
-            ((Panel)child).setAlpha(alpha, true);
+            ((Panel)child).resolveAlpha(alpha);
         } else if( child instanceof Node ) {
             // An else branch because the panel is already a node and so
             // will already set its children.  We want to cover the case
@@ -325,19 +354,97 @@ public class Panel extends Node {
     }
 
     /**
-     *  Returns an estimate of the current alpha multiplier for the child
-     *  components.  It scans the component children and returns the first
-     *  alpha value found.
+     *  Recalculates this panel's effective alpha from the specified
+     *  inherited alpha and, if it changed, pushes it to this panel's
+     *  components and on to its children.
      */
-    public float getAlpha() {
+    protected void resolveAlpha( float inherited ) {
+        alphaDirty = false;
+        inheritedAlpha = inherited;
+        float effective = alpha * inherited;
+        if( effective == appliedAlpha ) {
+            if( !componentAlphaValid ) {
+                applyAlpha(effective);
+                componentAlphaValid = true;
+            }
+            // Nothing below us could have changed either.  Any child
+            // with its own change will resolve itself.
+            return;
+        }
+        appliedAlpha = effective;
+        applyAlpha(effective);
+        componentAlphaValid = true;
+        for( Spatial s : getChildren() ) {
+            setChildAlpha(s, effective);
+        }
+    }
+
+    /**
+     *  Sets the alpha of this panel's ColoredComponents.
+     */
+    protected void applyAlpha( float effective ) {
         for( GuiComponent c : getControl(GuiControl.class).getComponents() ) {
             if( c instanceof ColoredComponent ) {
-                return ((ColoredComponent)c).getAlpha();
+                ((ColoredComponent)c).setAlpha(effective);
+            }
+        }
+    }
+
+    /**
+     *  Returns the effective alpha of the nearest ancestor panel
+     *  or 1 if there is none.
+     */
+    protected float getInheritedAlpha() {
+        for( Node n = getParent(); n != null; n = n.getParent() ) {
+            if( n instanceof Panel ) {
+                return ((Panel)n).getEffectiveAlpha();
             }
         }
         return 1;
     }
 
+    /**
+     *  Returns this panel's own alpha multiplier as set by setAlpha().
+     */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /**
+     *  Returns the alpha last applied to this panel's components, ie:
+     *  its own alpha multiplied by the alpha inherited from its parent
+     *  panels.
+     */
+    public float getEffectiveAlpha() {
+        return appliedAlpha;
+    }
+
+    @Override
+    protected void setParent( Node parent ) {
+        super.setParent(parent);
+        if( parent != null ) {
+            // We may be inheriting a different alpha now
+            alphaDirty = true;
+        }
+    }
+
+    @Override
+    public void updateLogicalState( float tpf ) {
+        if( alphaDirty ) {
+            resolveAlpha(getInheritedAlpha());
+        } else if( !(getParent() instanceof Panel) ) {
+            // A parent panel pushes changes to us directly but we won't
+            // hear about it when some Node above us gets attached under a
+            // different panel.  So panels under plain Nodes check for
+            // themselves.
+            float inherited = getInheritedAlpha();
+            if( inherited != inheritedAlpha ) {
+                resolveAlpha(inherited);
+            }
+        }
+        super.updateLogicalState(tpf);
+    }
+
     /**
      *  Provides convenient access to the EffectControl... that also
      *  hides the Java-generic voodoo necessary to get it without an
@@ -0,0 +1,209 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import com.jme3.font.BitmapFont;
+import com.jme3.math.ColorRGBA;
+
+import com.simsilica.lemur.component.TextAreaComponent;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.style.Attributes;
+import com.simsilica.lemur.style.ElementId;
+import com.simsilica.lemur.style.StyleAttribute;
+import com.simsilica.lemur.style.StyleDefaults;
+import com.simsilica.lemur.style.Styles;
+
+
+/**
+ *  A read-only GUI element for displaying many lines of text, like
+ *  a log or console output.  Only the visible lines are rendered so
+ *  the cost of displaying and adding lines doesn't grow with the
+ *  total amount of text.  See TextAreaComponent.
+ */
+public class TextArea extends Panel {
+
+    public static final String ELEMENT_ID = "textArea";
+
+    public static final String LAYER_TEXT = "text";
+
+    private TextAreaComponent text;
+
+    public TextArea() {
+        this(true, new ElementId(ELEMENT_ID), null);
+    }
+
+    public TextArea( String style ) {
+        this(true, new ElementId(ELEMENT_ID), style);
+    }
+
+    public TextArea( ElementId elementId ) {
+        this(true, elementId, null);
+    }
+
+    public TextArea( ElementId elementId, String style ) {
+        this(true, elementId, style);
+    }
+
+    protected TextArea( boolean applyStyles, ElementId elementId, String style ) {
+        super(false, elementId, style);
+
+        // Set our layer ordering
+        getControl(GuiControl.class).setLayerOrder(LAYER_INSETS,
+                                                   LAYER_BORDER,
+                                                   LAYER_BACKGROUND,
+                                                   LAYER_TEXT);
+
+        // Retrieve the font first for the same reasons as Label
+        Styles styles = GuiGlobals.getInstance().getStyles();
+        BitmapFont font = styles.getAttributes(elementId.getId(), style).get("font", BitmapFont.class);
+        this.text = new TextAreaComponent(font);
+        text.setLayer(3);
+
+        getControl(GuiControl.class).setComponent(LAYER_TEXT, text);
+
+        if( applyStyles ) {
+            styles.applyStyles(this, elementId, style);
+        }
+    }
+
+    @StyleDefaults(ELEMENT_ID)
+    public static void initializeDefaultStyles( Attributes attrs ) {
+    }
+
+    /**
+     *  Adds a line to the end of the text area.  Embedded new lines
+     *  will result in multiple lines being added.
+     */
+    public void addLine( String line ) {
+        text.addLine(line);
+    }
+
+    public String getLine( int index ) {
+        return text.getLine(index);
+    }
+
+    public int getLineCount() {
+        return text.getLineCount();
+    }
+
+    public void clear() {
+        text.clear();
+    }
+
+    /**
+     *  Sets the maximum number of lines to keep before the oldest
+     *  lines are discarded.  Defaults to 0, no limit.
+     */
+    @StyleAttribute("maxLines")
+    public void setMaxLines( int maxLines ) {
+        text.setMaxLines(maxLines);
+    }
+
+    public int getMaxLines() {
+        return text.getMaxLines();
+    }
+
+    /**
+     *  Returns the model that controls the first visible line.  This
+     *  can be shared with a Slider to provide scrolling.
+     */
+    public RangedValueModel getScrollModel() {
+        return text.getScrollModel();
+    }
+
+    public void setTopLine( int line ) {
+        text.setTopLine(line);
+    }
+
+    public int getTopLine() {
+        return text.getTopLine();
+    }
+
+    public void scrollToEnd() {
+        text.scrollToEnd();
+    }
+
+    @StyleAttribute("font")
+    public void setFont( BitmapFont f ) {
+        text.setFont(f);
+    }
+
+    public BitmapFont getFont() {
+        return text.getFont();
+    }
+
+    @StyleAttribute("color")
+    public void setColor( ColorRGBA color ) {
+        text.setColor(color);
+    }
+
+    public ColorRGBA getColor() {
+        return text == null ? null : text.getColor();
+    }
+
+    @StyleAttribute("fontSize")
+    public void setFontSize( float f ) {
+        text.setFontSize(f);
+    }
+
+    public float getFontSize() {
+        return text == null ? 0 : text.getFontSize();
+    }
+
+    @StyleAttribute("preferredWidth")
+    public void setPreferredWidth( float f ) {
+        text.setPreferredWidth(f);
+    }
+
+    public float getPreferredWidth() {
+        return text.getPreferredWidth();
+    }
+
+    @StyleAttribute("preferredLineCount")
+    public void setPreferredLineCount( int i ) {
+        text.setPreferredLineCount(i);
+    }
+
+    public int getPreferredLineCount() {
+        return text.getPreferredLineCount();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[lines=" + getLineCount() + ", elementId=" + getElementId() + "]";
+    }
+}
@@ -37,6 +37,8 @@
 package com.simsilica.lemur.anim;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.jme3.app.Application;
 import com.jme3.app.state.BaseAppState;
@@ -54,10 +56,17 @@ public class AnimationState extends BaseAppState {
 
     private static AnimationState defaultInstance;
 
-    private final List<Animation> tasks = new ArrayList<Animation>();
+    // Insertion ordered so that animations still run in the order
+    // they were added, but with constant time lookups and removal.
+    private final Set<Animation> tasks = new LinkedHashSet<Animation>();
     private Animation[] array = null;
     
     private long lastTime;
+
+    private boolean parallel;
+    private ForkJoinPool pool;
+    private boolean ownsPool;
+    private ParallelAnimation[] computeArray = new ParallelAnimation[0];
     
     public AnimationState() {
         if( defaultInstance == null ) {
@@ -72,6 +81,43 @@ public class AnimationState extends BaseAppState {
         return defaultInstance;
     }
  
+    /**
+     *  Set to true to have the compute() phase of all ParallelAnimations
+     *  run at the same time on the parallel pool's worker threads.  The
+     *  results are then committed on the render thread, in order, along
+     *  with the regular animations.  Defaults to false.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     *  Sets the pool used to run parallel animations.  If no pool has
+     *  been set when one is first needed then a pool is created with
+     *  one less thread than the number of available processors and
+     *  is shut down when this state is cleaned up.
+     */
+    public void setParallelPool( ForkJoinPool pool ) {
+        if( ownsPool && this.pool != null && this.pool != pool ) {
+            this.pool.shutdown();
+        }
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    public ForkJoinPool getParallelPool() {
+        if( pool == null ) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            pool = new ForkJoinPool(threads);
+            ownsPool = true;
+        }
+        return pool;
+    }
+
     /**
      *  Returns true if the specified animation object is
      *  currently running, ie: will be executed this frame.
@@ -82,11 +128,13 @@ public class AnimationState extends BaseAppState {
 
     /**
      *  Begins executing the specified animation.  The passed
-     *  animation is returned directly to the caller.
+     *  animation is returned directly to the caller.  Adding an
+     *  animation that is already running has no effect.
      */
     public <T extends Animation> T add( T anim ) {
-        tasks.add(anim);
-        array = null;
+        if( tasks.add(anim) ) {
+            array = null;
+        }
         return anim;
     }
  
@@ -117,8 +165,9 @@ public class AnimationState extends BaseAppState {
     }
 
     protected void remove( Animation anim ) {
-        tasks.remove(anim);
-        array = null;
+        if( tasks.remove(anim) ) {
+            array = null;
+        }
     }
 
     @Override
@@ -134,6 +183,12 @@ public class AnimationState extends BaseAppState {
             cancel(a);   
         }
         
+        if( ownsPool ) {
+            pool.shutdown();
+            pool = null;
+            ownsPool = false;
+        }
+        
         // See if there is another one after we've been removed
         defaultInstance = getState(AnimationState.class);
     }
@@ -150,14 +205,93 @@ public class AnimationState extends BaseAppState {
         double t = delta * NANOS_TO_SECONDS;
         lastTime = time;
         
-        for( Animation a : getArray() ) {
+        Animation[] current = getArray();
+        if( parallel && computeParallel(current, t) ) {
+            // Everything has been computed so now commit it all
+            // in the same order as the serial loop would have
+            for( Animation a : current ) {
+                boolean running;
+                if( a instanceof ParallelAnimation ) {
+                    running = ((ParallelAnimation)a).commit();
+                } else {
+                    running = a.animate(t);
+                }
+                if( !running ) {
+                    remove(a);
+                }
+            }
+            return;
+        }
+        
+        for( Animation a : current ) {
             if( !a.animate(t) ) {
                 remove(a);
             }
         }          
     }
 
+    /**
+     *  Runs compute() for all of the ParallelAnimations in the specified
+     *  array on the parallel pool and waits for them to finish.  Returns
+     *  false without computing anything if there are too few for it to be
+     *  worth it.
+     */
+    protected boolean computeParallel( Animation[] animations, double t ) {
+        int count = 0;
+        for( Animation a : animations ) {
+            if( a instanceof ParallelAnimation ) {
+                if( count == computeArray.length ) {
+                    computeArray = Arrays.copyOf(computeArray, Math.max(16, count * 2));
+                }
+                computeArray[count++] = (ParallelAnimation)a;
+            }
+        }
+        if( count < 2 ) {
+            Arrays.fill(computeArray, 0, count, null);
+            return false;
+        }
+        
+        ForkJoinPool workers = getParallelPool();
+        int leafSize = Math.max(1, count / (workers.getParallelism() * 4));
+        try {
+            workers.invoke(new ComputeTask(computeArray, 0, count, t, leafSize));
+        } finally {
+            // Don't hold on to animations that may be removed
+            Arrays.fill(computeArray, 0, count, null);
+        }
+        return true;
+    }
+
     @Override
     protected void onDisable() {
     }
+    
+    private static class ComputeTask extends RecursiveAction {
+        private final ParallelAnimation[] tasks;
+        private final int start;
+        private final int end;
+        private final double tpf;
+        private final int leafSize;
+        
+        public ComputeTask( ParallelAnimation[] tasks, int start, int end, double tpf, int leafSize ) {
+            this.tasks = tasks;
+            this.start = start;
+            this.end = end;
+            this.tpf = tpf;
+            this.leafSize = leafSize;
+        }
+        
+        @Override
+        protected void compute() {
+            if( end - start <= leafSize ) {
+                for( int i = start; i < end; i++ ) {
+                    tasks[i].compute(tpf);
+                }
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new ComputeTask(tasks, start, mid, tpf, leafSize),
+                      new ComputeTask(tasks, mid, end, tpf, leafSize));
+        }
+    }
 }
@@ -0,0 +1,393 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.anim;
+
+import java.util.Arrays;
+
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.Panel;
+import com.simsilica.lemur.component.ColoredComponent;
+
+
+/**
+ *  An Animation that runs large numbers of simple property tweens
+ *  (move, rotate, scale, panel alpha, and color) in one pass.  Instead
+ *  of a TweenAnimation and Tween object tree per animation, the tween
+ *  state is kept in parallel primitive arrays and advanced in a single
+ *  loop.  Each add method returns a handle that can be used to check
+ *  or cancel that tween in constant time.
+ *
+ *  <p>A BulkTweenAnimation is added to the AnimationState like any other
+ *  animation and stays there even when it has no tweens to run.  Canceling
+ *  the animation cancels all of its tweens.  All of the interpolation
+ *  is linear.  More complicated animations should use regular Tweens.</p>
+ *
+ *  <p>Handles are never 0 and a handle is never reused for a different
+ *  tween in practice, so a stale handle is safe to check or cancel.</p>
+ */
+public class BulkTweenAnimation implements Animation {
+
+    public static final long NO_HANDLE = 0;
+
+    private static final int MOVE = 0;
+    private static final int ROTATE = 1;
+    private static final int SCALE = 2;
+    private static final int ALPHA = 3;
+    private static final int COLOR = 4;
+
+    // Number of floats per tween in 'values', from then to
+    private static final int STRIDE = 8;
+
+    // Dense tween state indexed by slot
+    private int count;
+    private int[] types;
+    private Object[] targets;
+    private Object[] results;
+    private float[] values;
+    private float[] times;
+    private float[] lengths;
+    private int[] slotIds;
+
+    // Handle ID to slot mapping
+    private int[] idSlots;
+    private int[] generations;
+    private int[] freeIds;
+    private int freeCount;
+    private int nextId;
+
+    private final Vector3f tempVector = new Vector3f();
+    private final Quaternion tempFrom = new Quaternion();
+    private final Quaternion tempTo = new Quaternion();
+    private final Quaternion tempRotation = new Quaternion();
+
+    public BulkTweenAnimation() {
+        this(64);
+    }
+
+    public BulkTweenAnimation( int initialCapacity ) {
+        initialCapacity = Math.max(1, initialCapacity);
+        types = new int[initialCapacity];
+        targets = new Object[initialCapacity];
+        results = new Object[initialCapacity];
+        values = new float[initialCapacity * STRIDE];
+        times = new float[initialCapacity];
+        lengths = new float[initialCapacity];
+        slotIds = new int[initialCapacity];
+        idSlots = new int[initialCapacity];
+        generations = new int[initialCapacity];
+        freeIds = new int[initialCapacity];
+    }
+
+    /**
+     *  Adds a tween that moves the target from one location to another.
+     *  If either location is null then the Spatial's current local
+     *  translation is used.
+     */
+    public long move( Spatial target, Vector3f from, Vector3f to, double length ) {
+        from = from != null ? from : target.getLocalTranslation();
+        to = to != null ? to : target.getLocalTranslation();
+        int slot = addSlot(MOVE, target, length);
+        setValues(slot, from.x, from.y, from.z, 0, to.x, to.y, to.z, 0);
+        return getHandle(slot);
+    }
+
+    /**
+     *  Adds a tween that rotates the target from one rotation to another.
+     *  If either rotation is null then the Spatial's current local rotation
+     *  is used.
+     */
+    public long rotate( Spatial target, Quaternion from, Quaternion to, double length ) {
+        from = from != null ? from : target.getLocalRotation();
+        to = to != null ? to : target.getLocalRotation();
+        int slot = addSlot(ROTATE, target, length);
+        setValues(slot, from.getX(), from.getY(), from.getZ(), from.getW(),
+                  to.getX(), to.getY(), to.getZ(), to.getW());
+        return getHandle(slot);
+    }
+
+    /**
+     *  Adds a tween that scales the target from one scale to another.
+     *  If either scale is null then the Spatial's current local scale is used.
+     */
+    public long scale( Spatial target, Vector3f from, Vector3f to, double length ) {
+        from = from != null ? from : target.getLocalScale();
+        to = to != null ? to : target.getLocalScale();
+        int slot = addSlot(SCALE, target, length);
+        setValues(slot, from.x, from.y, from.z, 0, to.x, to.y, to.z, 0);
+        return getHandle(slot);
+    }
+
+    /**
+     *  Adds a tween that fades the target panel's alpha from one value
+     *  to another.  If either value is null then the Panel's current
+     *  alpha is used.
+     */
+    public long fade( Panel target, Float fromAlpha, Float toAlpha, double length ) {
+        float from = fromAlpha != null ? fromAlpha : target.getAlpha();
+        float to = toAlpha != null ? toAlpha : target.getAlpha();
+        int slot = addSlot(ALPHA, target, length);
+        setValues(slot, from, 0, 0, 0, to, 0, 0, 0);
+        return getHandle(slot);
+    }
+
+    /**
+     *  Adds a tween that changes the target's color from one color to
+     *  another.  If either color is null then the target's current color
+     *  is used.
+     */
+    public long color( ColoredComponent target, ColorRGBA from, ColorRGBA to, double length ) {
+        from = from != null ? from : target.getColor();
+        to = to != null ? to : target.getColor();
+        int slot = addSlot(COLOR, target, length);
+        setValues(slot, from.r, from.g, from.b, from.a, to.r, to.g, to.b, to.a);
+        // Colored components tend to keep the color they are given so
+        // each tween needs its own.
+        results[slot] = new ColorRGBA(from);
+        return getHandle(slot);
+    }
+
+    /**
+     *  Returns true if the tween for the specified handle has not
+     *  finished or been canceled.
+     */
+    public boolean isRunning( long handle ) {
+        return getSlot(handle) >= 0;
+    }
+
+    /**
+     *  Stops the tween for the specified handle, leaving its target
+     *  wherever it currently is.  Returns true if the tween was running.
+     */
+    public boolean cancel( long handle ) {
+        int slot = getSlot(handle);
+        if( slot < 0 ) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     *  Returns the number of tweens currently running.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     *  Stops all of the running tweens.
+     */
+    public void clear() {
+        while( count > 0 ) {
+            removeSlot(count - 1);
+        }
+    }
+
+    @Override
+    public boolean animate( double tpf ) {
+        float dt = (float)tpf;
+        int i = 0;
+        while( i < count ) {
+            float time = times[i];
+            // Like TweenAnimation, the first frame is always time 0
+            time = time < 0 ? 0 : time + dt;
+            times[i] = time;
+
+            float length = lengths[i];
+            float t = length <= 0 ? 1 : Math.min(1, time / length);
+            apply(i, t);
+
+            if( t >= 1 ) {
+                // The last slot is moved into this one so we
+                // process i again
+                removeSlot(i);
+            } else {
+                i++;
+            }
+        }
+
+        // We stay around for more tweens
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        clear();
+    }
+
+    protected void apply( int slot, float t ) {
+        int base = slot * STRIDE;
+        float[] v = values;
+        switch( types[slot] ) {
+            case MOVE:
+                tempVector.set(v[base] + (v[base + 4] - v[base]) * t,
+                               v[base + 1] + (v[base + 5] - v[base + 1]) * t,
+                               v[base + 2] + (v[base + 6] - v[base + 2]) * t);
+                ((Spatial)targets[slot]).setLocalTranslation(tempVector);
+                break;
+            case ROTATE:
+                tempFrom.set(v[base], v[base + 1], v[base + 2], v[base + 3]);
+                tempTo.set(v[base + 4], v[base + 5], v[base + 6], v[base + 7]);
+                tempRotation.slerp(tempFrom, tempTo, t);
+                ((Spatial)targets[slot]).setLocalRotation(tempRotation);
+                break;
+            case SCALE:
+                tempVector.set(v[base] + (v[base + 4] - v[base]) * t,
+                               v[base + 1] + (v[base + 5] - v[base + 1]) * t,
+                               v[base + 2] + (v[base + 6] - v[base + 2]) * t);
+                ((Spatial)targets[slot]).setLocalScale(tempVector);
+                break;
+            case ALPHA:
+                ((Panel)targets[slot]).setAlpha(v[base] + (v[base + 4] - v[base]) * t);
+                break;
+            case COLOR:
+                ColorRGBA color = (ColorRGBA)results[slot];
+                color.set(v[base] + (v[base + 4] - v[base]) * t,
+                          v[base + 1] + (v[base + 5] - v[base + 1]) * t,
+                          v[base + 2] + (v[base + 6] - v[base + 2]) * t,
+                          v[base + 3] + (v[base + 7] - v[base + 3]) * t);
+                ((ColoredComponent)targets[slot]).setColor(color);
+                break;
+        }
+    }
+
+    protected int addSlot( int type, Object target, double length ) {
+        if( target == null ) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+        if( count == types.length ) {
+            growSlots(count * 2);
+        }
+
+        int id;
+        if( freeCount > 0 ) {
+            id = freeIds[--freeCount];
+        } else {
+            if( nextId == idSlots.length ) {
+                growIds(nextId * 2);
+            }
+            id = nextId++;
+            // Generation 0 is reserved so that no handle is ever 0
+            generations[id] = 1;
+        }
+
+        int slot = count++;
+        types[slot] = type;
+        targets[slot] = target;
+        times[slot] = -1;
+        lengths[slot] = (float)length;
+        slotIds[slot] = id;
+        idSlots[id] = slot;
+        return slot;
+    }
+
+    protected void removeSlot( int slot ) {
+        int id = slotIds[slot];
+        int last = --count;
+        if( slot != last ) {
+            // Move the last tween into the hole
+            types[slot] = types[last];
+            targets[slot] = targets[last];
+            results[slot] = results[last];
+            System.arraycopy(values, last * STRIDE, values, slot * STRIDE, STRIDE);
+            times[slot] = times[last];
+            lengths[slot] = lengths[last];
+            slotIds[slot] = slotIds[last];
+            idSlots[slotIds[slot]] = slot;
+        }
+        targets[last] = null;
+        results[last] = null;
+
+        // Release the ID, bumping its generation so that any old
+        // handles no longer match
+        idSlots[id] = -1;
+        generations[id] = Math.max(1, generations[id] + 1);
+        freeIds[freeCount++] = id;
+    }
+
+    private void setValues( int slot, float f0, float f1, float f2, float f3,
+                            float t0, float t1, float t2, float t3 ) {
+        int base = slot * STRIDE;
+        values[base] = f0;
+        values[base + 1] = f1;
+        values[base + 2] = f2;
+        values[base + 3] = f3;
+        values[base + 4] = t0;
+        values[base + 5] = t1;
+        values[base + 6] = t2;
+        values[base + 7] = t3;
+    }
+
+    private long getHandle( int slot ) {
+        int id = slotIds[slot];
+        return ((long)generations[id] << 32) | (id & 0xffffffffL);
+    }
+
+    private int getSlot( long handle ) {
+        int id = (int)handle;
+        int generation = (int)(handle >>> 32);
+        if( id < 0 || id >= nextId || generation == 0 || generations[id] != generation ) {
+            return -1;
+        }
+        return idSlots[id];
+    }
+
+    private void growSlots( int capacity ) {
+        types = Arrays.copyOf(types, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        results = Arrays.copyOf(results, capacity);
+        values = Arrays.copyOf(values, capacity * STRIDE);
+        times = Arrays.copyOf(times, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        slotIds = Arrays.copyOf(slotIds, capacity);
+    }
+
+    private void growIds( int capacity ) {
+        idSlots = Arrays.copyOf(idSlots, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        freeIds = Arrays.copyOf(freeIds, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + count + "]";
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.anim;
+
+
+/**
+ *  An Animation that can compute its next state off of the render
+ *  thread.  When the AnimationState is in parallel mode, compute() is
+ *  called for all ParallelAnimations at the same time on worker threads
+ *  and then commit() is called for each one on the render thread in
+ *  the order the animations were added.
+ *
+ *  <p>compute() must not modify the scene graph or anything else shared
+ *  with other animations.  It should only calculate values to be applied
+ *  in commit().  animate() must be equivalent to compute() followed by
+ *  commit() because it is what will be called when the AnimationState is
+ *  not in parallel mode.  See AbstractParallelAnimation.</p>
+ */
+public interface ParallelAnimation extends Animation {
+
+    /**
+     *  Computes the animation's next state for the specified tpf.
+     *  This may be called from a worker thread.
+     */
+    public void compute( double tpf );
+
+    /**
+     *  Applies the state calculated by the last compute() call.  This
+     *  is always called on the render thread.  Returns true if there is
+     *  still more to animate, false if the animation should no longer be
+     *  updated.
+     */
+    public boolean commit();
+}
@@ -61,6 +61,16 @@ public class TweenAnimation implements Animation {
         this.loop = loop;
     }
 
+    /**
+     *  Returns this animation to its initial, not yet run, state
+     *  so that it can be run again.  This is useful for reusing the
+     *  animation and its tweens.  See ReusableEffect.
+     */
+    public void reset() {
+        this.t = -1;
+        this.running = true;
+    }
+
     /**
      *  Returns true if this is a looping animation.
      */
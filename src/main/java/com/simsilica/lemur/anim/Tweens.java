@@ -36,10 +36,15 @@
 
 package com.simsilica.lemur.anim;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.common.primitives.Primitives;
@@ -400,10 +405,118 @@ public class Tweens {
         }
     }
 
+    /**
+     *  Key for the method lookup caches within a target class.  The
+     *  argument types are the names of the runtime classes of the supplied
+     *  arguments so that the cache doesn't keep those classes around.
+     */
+    private static class MethodKey {
+        private final String name;
+        private final String[] argTypes;
+        private final int hash;
+
+        public MethodKey( String name, Object... args ) {
+            this.name = name;
+            this.argTypes = new String[args.length];
+            for( int i = 0; i < args.length; i++ ) {
+                argTypes[i] = args[i] == null ? null : args[i].getClass().getName();
+            }
+            this.hash = 31 * Objects.hashCode(name) + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( o == null || o.getClass() != getClass() ) {
+                return false;
+            }
+            MethodKey other = (MethodKey)o;
+            return Objects.equals(name, other.name) && Arrays.equals(argTypes, other.argTypes);
+        }
+    }
+
+    /**
+     *  A resolved method along with where and how the 't' value is
+     *  passed for callTweenMethod().  tIndex is -1 for callMethod().
+     */
+    private static class ResolvedMethod {
+        private final Method method;
+        private final Class[] paramTypes;
+        private final int tIndex;
+        private final boolean isFloat;
+
+        public ResolvedMethod( Method method, int tIndex, boolean isFloat ) {
+            this.method = method;
+            this.paramTypes = method.getParameterTypes();
+            this.tIndex = tIndex;
+            this.isFloat = isFloat;
+        }
+
+        /**
+         *  Returns true if the method can be called with the specified
+         *  arguments.  Class names are only unique within a class loader
+         *  so a cached method is checked before it is used.
+         */
+        @SuppressWarnings("unchecked")
+        public boolean accepts( Object... args ) {
+            int offset = tIndex == 0 ? 1 : 0;
+            for( int i = 0; i < args.length; i++ ) {
+                if( !Primitives.wrap(paramTypes[i + offset]).isInstance(args[i]) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     *  Per-class method lookup caches.  ClassValue keeps each cache with
+     *  its class so that script classes, and their class loaders, can
+     *  still be unloaded.
+     */
+    private static final ClassValue<ConcurrentMap<MethodKey, ResolvedMethod>> callMethods
+            = new MethodCache();
+    private static final ClassValue<ConcurrentMap<MethodKey, ResolvedMethod>> tweenMethods
+            = new MethodCache();
+
+    private static class MethodCache extends ClassValue<ConcurrentMap<MethodKey, ResolvedMethod>> {
+        @Override
+        protected ConcurrentMap<MethodKey, ResolvedMethod> computeValue( Class<?> type ) {
+            return new ConcurrentHashMap<MethodKey, ResolvedMethod>();
+        }
+    }
+
+    /**
+     *  Converts the resolved method into a handle with the target and
+     *  any fixed arguments already bound, starting at argument 'index'.
+     */
+    private static MethodHandle bindMethod( Method method, Object target, int index, Object... args ) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if( !Modifier.isStatic(method.getModifiers()) ) {
+                handle = handle.bindTo(target);
+            }
+            if( args.length > 0 ) {
+                handle = MethodHandles.insertArguments(handle, index, args);
+            }
+            return handle;
+        } catch( IllegalAccessException e ) {
+            throw new RuntimeException("Error accessing method:" + method + " for object:" + target, e);
+        }
+    }
+
     private static class CallMethod extends AbstractTween {
 
         private Object target;
         private Method method;
+        private MethodHandle handle;
         private Object[] args;        
         
         public CallMethod( Object target, String methodName, Object... args ) {
@@ -413,17 +526,28 @@ public class Tweens {
             }
             this.target = target;
             this.args = args;
-                        
-            // Lookup the method
             if( args == null ) {
-                this.method = findMethod(target.getClass(), methodName); 
-            } else {
-                this.method = findMethod(target.getClass(), methodName, args);
+                args = new Object[0];
             }
-            if( this.method == null ) {
-                throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
+                        
+            // Lookup the method
+            ConcurrentMap<MethodKey, ResolvedMethod> cache = callMethods.get(target.getClass());
+            MethodKey key = new MethodKey(methodName, args);
+            ResolvedMethod resolved = cache.get(key);
+            if( resolved == null || !resolved.accepts(args) ) {
+                Method m = findMethod(target.getClass(), methodName, args);
+                if( m == null ) {
+                    throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
+                }
+                m.setAccessible(true);
+                resolved = new ResolvedMethod(m, -1, false);
+                cache.put(key, resolved);
             }
-            this.method.setAccessible(true);            
+            this.method = resolved.method;
+
+            // With everything bound the call site needs no arguments
+            this.handle = bindMethod(method, target, 0, args)
+                              .asType(MethodType.methodType(void.class));
         }
 
         @SuppressWarnings("unchecked")        
@@ -456,17 +580,17 @@ public class Tweens {
         @Override
         protected void doInterpolate( double t ) {
             try {
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
+                handle.invokeExact();
+            } catch( Error e ) {
+                throw e;
+            } catch( Throwable e ) {
                 throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
             }
         }
         
         @Override
         public String toString() {
-            return getClass().getSimpleName() + "[method=" + method + ", parms=" + Arrays.asList(args) + "]";
+            return getClass().getSimpleName() + "[method=" + method + ", parms=" + (args == null ? null : Arrays.asList(args)) + "]";
         }
     }
     
@@ -474,8 +598,8 @@ public class Tweens {
 
         private Object target;
         private Method method;
+        private MethodHandle handle;
         private Object[] args;
-        private int tIndex = -1;
         private boolean isFloat = false;        
         
         public CallTweenMethod( double length, Object target, String methodName, Object... args ) {
@@ -484,25 +608,29 @@ public class Tweens {
                 throw new IllegalArgumentException("Target cannot be null.");
             }
             this.target = target;
+            this.args = args;
                         
             // Lookup the method
-            this.method = findMethod(target.getClass(), methodName, args);
-            if( this.method == null ) {
-                throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
-            }
-            this.method.setAccessible(true);
-            
-            // So now setup the real args list
-            this.args = new Object[args.length + 1];
-            if( tIndex == 0 ) {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i + 1] = args[i];
+            ConcurrentMap<MethodKey, ResolvedMethod> cache = tweenMethods.get(target.getClass());
+            MethodKey key = new MethodKey(methodName, args);
+            ResolvedMethod resolved = cache.get(key);
+            if( resolved == null || !resolved.accepts(args) ) {
+                resolved = findMethod(target.getClass(), methodName, args);
+                if( resolved == null ) {
+                    throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
                 }
-            } else {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i] = args[i];
-                }
-            }            
+                resolved.method.setAccessible(true);
+                cache.put(key, resolved);
+            }
+            this.method = resolved.method;
+            this.isFloat = resolved.isFloat;
+
+            // Bind everything but 't' so that the only argument left is
+            // the primitive time value.
+            int index = resolved.tIndex == 0 ? 1 : 0;
+            Class tType = isFloat ? float.class : double.class;
+            this.handle = bindMethod(method, target, index, args)
+                              .asType(MethodType.methodType(void.class, tType));
         }
         
         private static boolean isFloatType( Class type ) {
@@ -513,7 +641,7 @@ public class Tweens {
             return type == Double.TYPE || type == Double.class;
         }
         
-        private Method findMethod( Class type, String name, Object... args ) {
+        private static ResolvedMethod findMethod( Class type, String name, Object... args ) {
             for( Method m : type.getDeclaredMethods() ) {
                 if( !Objects.equals(m.getName(), name) ) {
                     continue;
@@ -539,17 +667,13 @@ public class Tweens {
                     }
                     if( matches == args.length ) {
                         // Then this is our method and this is how we are configured
-                        tIndex = 0;
-                        isFloat = isFloatType(paramTypes[0]);                        
+                        return new ResolvedMethod(m, 0, isFloatType(paramTypes[0]));
                     } else {
                         if( log.isTraceEnabled() ) {
                             log.trace(m + " Leading float check failed because of type mismatches, for:" + m);
                         }
                     }
                 }
-                if( tIndex >= 0 ) {
-                    return m;
-                }
                 
                 // Else try it at the end                
                 int last = paramTypes.length - 1;
@@ -563,9 +687,7 @@ public class Tweens {
                     }
                     if( matches == args.length ) {
                         // Then this is our method and this is how we are configured
-                        tIndex = last;
-                        isFloat = isFloatType(paramTypes[last]);
-                        return m;                        
+                        return new ResolvedMethod(m, last, isFloatType(paramTypes[last]));
                     } else {
                         if( log.isTraceEnabled() ) {
                             log.trace("Trailing float check failed because of type mismatches, for:" + m);
@@ -583,14 +705,13 @@ public class Tweens {
         protected void doInterpolate( double t ) {
             try {
                 if( isFloat ) {
-                    args[tIndex] = (float)t;
+                    handle.invokeExact((float)t);
                 } else {
-                    args[tIndex] = t;
+                    handle.invokeExact(t);
                 }
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
+            } catch( Error e ) {
+                throw e;
+            } catch( Throwable e ) {
                 throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
             }
         }
@@ -50,7 +50,7 @@ public abstract class AbstractGuiComponent implements GuiComponent {
 
     protected void invalidate() {
         if( guiControl != null ) {
-            guiControl.invalidate();
+            guiControl.invalidateComponent(this);
         }
     }
 
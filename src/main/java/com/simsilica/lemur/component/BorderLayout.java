@@ -74,7 +74,7 @@ public class BorderLayout extends AbstractGuiComponent
     @Override
     protected void invalidate() {
         if( parent != null ) {
-            parent.invalidate();
+            parent.invalidateComponent(this);
         }
     }
 
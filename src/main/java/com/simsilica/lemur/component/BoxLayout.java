@@ -83,7 +83,7 @@ public class BoxLayout extends AbstractGuiComponent
     @Override
     protected void invalidate() {
         if( parent != null ) {
-            parent.invalidate();
+            parent.invalidateComponent(this);
         }
     }
 
@@ -40,6 +40,7 @@ import com.jme3.scene.*;
 import com.jme3.scene.VertexBuffer.Type;
 import com.jme3.scene.shape.Quad;
 import com.jme3.texture.Texture;
+import com.simsilica.lemur.core.BackgroundBatchControl;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.GuiGlobals;
 import com.simsilica.lemur.core.GuiMaterial;
@@ -291,6 +292,10 @@ public class QuadBackgroundComponent extends AbstractGuiComponent
                             });
             }
             background = new Geometry("background", q);
+            if( !lit ) {
+                // Let a BackgroundBatchControl draw us if there is one
+                background.setUserData(BackgroundBatchControl.BATCHABLE, true);
+            }
             // Can't do this even though it seems logical because it
             // is just as likely that we are in bucket.gui.  It is up to
             // the caller to put the main 3D ui in the transparent bucket
@@ -50,6 +50,10 @@ import com.simsilica.lemur.core.GuiLayout;
  *  sized large enough to fit the largest child within that row
  *  or column.
  *
+ *  <p>Cells are kept in a dense row-major array and the working
+ *  arrays used during reshape() are reused between calls so that
+ *  re-laying out an unchanged grid does not create garbage.</p>
+ *
  *  @author    Paul Speed
  */
 public class SpringGridLayout extends AbstractGuiComponent
@@ -66,10 +70,42 @@ public class SpringGridLayout extends AbstractGuiComponent
     private float[] rowPrefs;
     private float[] colPrefs;
 
-    private Map<Integer,Map<Integer,Entry>> children = new HashMap<Integer, Map<Integer,Entry>>();
+    /**
+     *  The largest rowCapacity x colCapacity that will be kept as a
+     *  dense array.  Anything bigger is mostly empty space and switches
+     *  to sparseCells instead.
+     */
+    private static final int MAX_DENSE_CELLS = 1 << 16;
+
+    /**
+     *  Row-major cell storage, rowCapacity x colCapacity.  Null when
+     *  the grid has grown too large and sparseCells is used instead.
+     */
+    private Entry[] cells = new Entry[0];
+    private Map<Long, Entry> sparseCells;
+    private int rowCapacity;
+    private int colCapacity;
+    
+    /**
+     *  The number of entries in each row and column.  Lets us
+     *  trim the row and column counts on removal without rescanning
+     *  the grid.
+     */
+    private int[] rowEntryCounts = new int[0];
+    private int[] colEntryCounts = new int[0];
+    
     private Map<Node, Entry> lookup = new LinkedHashMap<Node, Entry>();
 
     private Vector3f lastPreferredSize = new Vector3f();
+    
+    // Working state for reshape() and calculatePreferredSize() 
+    private float[] rowSizes = new float[0];
+    private float[] colSizes = new float[0];
+    private float[] rowOffsets = new float[0];
+    private float[] colOffsets = new float[0];
+    private Vector3f prefTemp = new Vector3f();
+    private Vector3f offsetTemp = new Vector3f();
+    private Vector3f sizeTemp = new Vector3f();
 
     public SpringGridLayout() {
         this(Axis.Y, Axis.X, FillMode.Even, FillMode.Even);
@@ -104,7 +140,7 @@ public class SpringGridLayout extends AbstractGuiComponent
     @Override
     protected void invalidate() {
         if( parent != null ) {
-            parent.invalidate();
+            parent.invalidateComponent(this);
         }
     }
 
@@ -144,6 +180,84 @@ public class SpringGridLayout extends AbstractGuiComponent
         setAlternate(v, getAlternate(v) + f);
     }
 
+    /**
+     *  Returns the entry at the specified cell or null if there
+     *  is no entry there.
+     */
+    protected Entry getEntry( int row, int col ) {
+        if( row < 0 || col < 0 || row >= rowCapacity || col >= colCapacity ) {
+            return null;
+        }
+        if( sparseCells != null ) {
+            return sparseCells.get(cellKey(row, col));
+        }
+        return cells[row * colCapacity + col];
+    }
+
+    private void setEntry( int row, int col, Entry e ) {
+        if( sparseCells != null ) {
+            if( e == null ) {
+                sparseCells.remove(cellKey(row, col));
+            } else {
+                sparseCells.put(cellKey(row, col), e);
+            }
+        } else {
+            cells[row * colCapacity + col] = e;
+        }
+    }
+
+    private static long cellKey( int row, int col ) {
+        return ((long)row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     *  Returns the next power of two capacity that can hold the
+     *  specified index, clamped so that it can't overflow.
+     */
+    private static int grow( int capacity, int index ) {
+        long result = Math.max(capacity, 1);
+        while( result <= index ) {
+            result *= 2;
+        }
+        return (int)Math.min(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     *  Makes sure the cell storage can hold the specified row and column,
+     *  growing it if necessary.  Grids that would need more than
+     *  MAX_DENSE_CELLS cells switch to sparse storage.
+     */
+    private void ensureCapacity( int row, int col ) {
+        if( row < rowCapacity && col < colCapacity ) {
+            return;
+        }
+        int newRows = row < rowCapacity ? rowCapacity : grow(rowCapacity, row);
+        int newCols = col < colCapacity ? colCapacity : grow(colCapacity, col);
+
+        if( sparseCells == null ) {
+            if( (long)newRows * newCols <= MAX_DENSE_CELLS ) {
+                Entry[] newCells = new Entry[newRows * newCols];
+                for( int r = 0; r < rowCapacity; r++ ) {
+                    System.arraycopy(cells, r * colCapacity, newCells, r * newCols, colCapacity);
+                }
+                cells = newCells;
+            } else {
+                // Only keep track of the cells that are actually used
+                sparseCells = new HashMap<Long, Entry>();
+                for( Entry e : cells ) {
+                    if( e != null ) {
+                        sparseCells.put(cellKey(e.row, e.col), e);
+                    }
+                }
+                cells = null;
+            }
+        }
+        rowEntryCounts = Arrays.copyOf(rowEntryCounts, newRows);
+        colEntryCounts = Arrays.copyOf(colEntryCounts, newCols);
+        rowCapacity = newRows;
+        colCapacity = newCols;
+    }
+
     /**
      *  Recalculates the internal arrays that keep track of the
      *  preferred sizes for each row and collumn.  The preferred
@@ -170,20 +284,36 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
 
         float maxAlternate = 0;
-        for( Map.Entry<Integer, Map<Integer,Entry>> rowEntry : children.entrySet() ) {
-            int row = rowEntry.getKey();
-            for( Map.Entry<Integer, Entry> colEntry : rowEntry.getValue().entrySet() ) {
-                int col = colEntry.getKey();
-                Entry e = colEntry.getValue();
-                Vector3f v = e.getPreferredSize();
-                rowPrefs[row] = Math.max(rowPrefs[row], getMajor(v));
-                colPrefs[col] = Math.max(colPrefs[col], getMinor(v));
-                maxAlternate = Math.max(getAlternate(v), maxAlternate);
+        if( sparseCells != null ) {
+            for( Entry e : sparseCells.values() ) {
+                maxAlternate = Math.max(addPreferredSize(e), maxAlternate);
+            }
+            return maxAlternate;
+        }
+        for( int row = 0; row < rowCount; row++ ) {
+            int base = row * colCapacity;
+            for( int col = 0; col < columnCount; col++ ) {
+                Entry e = cells[base + col];
+                if( e == null ) {
+                    continue;
+                }
+                maxAlternate = Math.max(addPreferredSize(e), maxAlternate);
             }
         }
         return maxAlternate;
     }
 
+    /**
+     *  Folds the entry's preferred size into its row and column
+     *  preferred sizes and returns its alternate axis size.
+     */
+    private float addPreferredSize( Entry e ) {
+        Vector3f v = e.getPreferredSize(prefTemp);
+        rowPrefs[e.row] = Math.max(rowPrefs[e.row], getMajor(v));
+        colPrefs[e.col] = Math.max(colPrefs[e.col], getMinor(v));
+        return getAlternate(v);
+    }
+
     public void calculatePreferredSize( Vector3f size ) {
         float maxAlternate = refreshRowColPrefs();
 
@@ -270,24 +400,28 @@ public class SpringGridLayout extends AbstractGuiComponent
         // the sizes and positions, I guess.
 
         // Make sure the preferred size book-keeping is up to date.
-        calculatePreferredSize(new Vector3f());
+        calculatePreferredSize(sizeTemp.set(0, 0, 0));
 
-        // We could keep these arrays around but I think the GC churn
-        // pales in comparison to the distribute calls if reshape is called a lot.
-        float[] rowSizes = new float[rowCount];
+        // The working arrays are only reallocated when the row or
+        // column count changes.
+        if( rowSizes.length != rowCount ) {
+            rowSizes = new float[rowCount];
+            rowOffsets = new float[rowCount];
+        }
+        if( colSizes.length != columnCount ) {
+            colSizes = new float[columnCount];
+            colOffsets = new float[columnCount];
+        }
+        
         distribute(rowSizes, rowPrefs, getMajor(size), getMajor(lastPreferredSize), mainFill, mainAxis);
-
-        float[] colSizes = new float[columnCount];
         distribute(colSizes, colPrefs, getMinor(size), getMinor(lastPreferredSize), minorFill, minorAxis);
 
-        float[] rowOffsets = new float[rowCount];
         float f = 0;
         for( int i = 0; i < rowOffsets.length; i++ ) {
             rowOffsets[i] = f;
             f += rowSizes[i];
         }
 
-        float[] colOffsets = new float[columnCount];
         f = 0;
         for( int i = 0; i < colOffsets.length; i++ ) {
             colOffsets[i] = f;
@@ -295,39 +429,47 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
 
         // Now we can process the actual children
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
-                Vector3f offset = new Vector3f();
-                addMajor(offset, rowOffsets[e.row]);
-                addMinor(offset, colOffsets[e.col]);
-                offset.y *= -1;
-                e.setTranslation(pos.add(offset));
-
-                Vector3f childSize = size.clone();
-                setMajor(childSize, rowSizes[e.row]);
-                setMinor(childSize, colSizes[e.col]);
-
-                e.setSize(childSize);
+        if( sparseCells != null ) {
+            for( Entry e : sparseCells.values() ) {
+                layoutEntry(e, pos, size);
+            }
+            return;
+        }
+        for( int row = 0; row < rowCount; row++ ) {
+            int base = row * colCapacity;
+            for( int col = 0; col < columnCount; col++ ) {
+                Entry e = cells[base + col];
+                if( e == null ) {
+                    continue;
+                }
+                layoutEntry(e, pos, size);
             }
         }
     }
 
-    protected Map<Integer, Entry> getRow( int row, boolean create ) {
-        Map<Integer, Entry> result = children.get(row);
-        if( result == null && create ) {
-            result = new HashMap<Integer, Entry>();
-            children.put(row, result);
-        }
-        return result;
+    private void layoutEntry( Entry e, Vector3f pos, Vector3f size ) {
+        offsetTemp.set(0, 0, 0);
+        addMajor(offsetTemp, rowOffsets[e.row]);
+        addMinor(offsetTemp, colOffsets[e.col]);
+        offsetTemp.y *= -1;
+        offsetTemp.addLocal(pos);
+        e.setTranslation(offsetTemp);
+
+        sizeTemp.set(size);
+        setMajor(sizeTemp, rowSizes[e.row]);
+        setMinor(sizeTemp, colSizes[e.col]);
+
+        e.setSize(sizeTemp);
     }
 
     public <T extends Node> T addChild( int row, int column, T n ) {
         if( n != null && n.getControl(GuiControl.class) == null )
             throw new IllegalArgumentException( "Child is not GUI element." );
+        if( row < 0 || column < 0 ) 
+            throw new IllegalArgumentException( "Row and column cannot be negative:" + row + ", " + column );
 
         // Remove any element that is already at this row/column
-        Map<Integer, Entry> rowMap = getRow(row, true);
-        Entry existing = rowMap.get(column);
+        Entry existing = getEntry(row, column);
         if( existing != null ) {
             remove(existing);
         }
@@ -340,8 +482,11 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
         
         // Now we can create our grid cell entry and set it up.
+        ensureCapacity(row, column);
         Entry entry = new Entry(row, column, n);
-        rowMap.put(column, entry);
+        setEntry(row, column, entry);
+        rowEntryCounts[row]++;
+        colEntryCounts[column]++;
         
         if( n != null ) {
             lookup.put(n, entry);
@@ -384,7 +529,7 @@ public class SpringGridLayout extends AbstractGuiComponent
                 row = rowCount;
             }
             if( col == -1 ) {
-                col = getRow(row, true).size();
+                col = row < rowCapacity ? rowEntryCounts[row] : 0;
             }
         }
 
@@ -394,12 +539,7 @@ public class SpringGridLayout extends AbstractGuiComponent
     }
 
     public Node getChild( int row, int column ) {
-        Map<Integer, Entry> rowMap = getRow(row, false);
-        if( rowMap == null ) {
-            return null;
-        }
-        
-        Entry existing = rowMap.get(column);
+        Entry existing = getEntry(row, column);
         if( existing == null ) {
             return null;
         }
@@ -407,7 +547,6 @@ public class SpringGridLayout extends AbstractGuiComponent
     }
 
     public void removeChild( Node n ) {
-        // No fast way to do this right now
         Entry entry = lookup.remove(n);
         if( entry != null ) {
             remove(entry);
@@ -433,9 +572,20 @@ public class SpringGridLayout extends AbstractGuiComponent
             }
         }
         
-        children.clear();
+        if( sparseCells != null ) {
+            // Go back to an empty dense grid
+            sparseCells = null;
+            cells = new Entry[0];
+            rowEntryCounts = new int[0];
+            colEntryCounts = new int[0];
+            rowCapacity = 0;
+            colCapacity = 0;
+        } else {
+            Arrays.fill(cells, null);
+            Arrays.fill(rowEntryCounts, 0);
+            Arrays.fill(colEntryCounts, 0);
+        }
         lookup.clear();
-        children.clear();
         rowCount = 0;
         columnCount = 0;          
         invalidate();
@@ -445,27 +595,23 @@ public class SpringGridLayout extends AbstractGuiComponent
     
         e.detach();
 
-        Map<Integer, Entry> rowMap = getRow(e.row, false);
-        if( rowMap == null )
+        if( getEntry(e.row, e.col) != e ) {
             return;
-
-        rowMap.remove(e.col);
+        }
+        setEntry(e.row, e.col, null);
+        rowEntryCounts[e.row]--;
+        colEntryCounts[e.col]--;
 
         if( e.child != null ) {
             lookup.remove(e.child);
         }
 
-        // Recalculate the row and column count in case
-        // we have shrunk.
-        rowCount = 0;
-        columnCount = 0;
-        for( Entry child : lookup.values() ) {
-            if( child.row + 1 > rowCount ) {
-                rowCount = child.row + 1;
-            }
-            if( child.col + 1 > columnCount ) {
-                columnCount = child.col + 1;
-            }
+        // Trim the row and column count in case we have shrunk.
+        while( rowCount > 0 && rowEntryCounts[rowCount - 1] == 0 ) {
+            rowCount--;
+        }
+        while( columnCount > 0 && colEntryCounts[columnCount - 1] == 0 ) {
+            columnCount--;
         }
 
         invalidate();
@@ -474,9 +620,9 @@ public class SpringGridLayout extends AbstractGuiComponent
     @Override
     public void attach( GuiControl parent ) {
         this.parent = parent;
-        Node self = parent.getNode();
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
+        Collection<Entry> entries = sparseCells != null ? sparseCells.values() : Arrays.asList(cells);
+        for( Entry e : entries ) {
+            if( e != null ) {
                 e.attach();
             }
         }
@@ -494,12 +640,6 @@ public class SpringGridLayout extends AbstractGuiComponent
         for( Entry e : copy ) {
             e.detach();
         }
-        /*
-        for( Map<Integer, Entry> r : children.values() ) {
-            for( Entry e : r.values() ) {
-                e.detach();
-            }
-        }*/
     }
     
     @Override
@@ -512,17 +652,23 @@ public class SpringGridLayout extends AbstractGuiComponent
         int row;
         int col;
         Node child;
+        GuiControl control;
 
         public Entry( int row, int col, Node child ) {
             this.row = row;
             this.col = col;
             this.child = child;
+            this.control = child == null ? null : child.getControl(GuiControl.class);
         }
  
         public Vector3f getPreferredSize() {
-            if( child == null )
-                return new Vector3f(0,0,0);            
-            return child.getControl(GuiControl.class).getPreferredSize(); 
+            return getPreferredSize(new Vector3f());
+        }
+        
+        public Vector3f getPreferredSize( Vector3f store ) {
+            if( control == null )
+                return store.set(0, 0, 0);            
+            return control.getPreferredSize(store); 
         }
         
         public void setTranslation( Vector3f v ) {
@@ -532,9 +678,9 @@ public class SpringGridLayout extends AbstractGuiComponent
         }
         
         public void setSize( Vector3f v ) {
-            if( child == null )
+            if( control == null )
                 return;
-            child.getControl(GuiControl.class).setSize(v);
+            control.setSize(v);
         }
         
         public void attach() {
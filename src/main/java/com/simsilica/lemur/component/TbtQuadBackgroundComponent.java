@@ -41,6 +41,7 @@ import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 
 import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.core.BackgroundBatchControl;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.GuiMaterial;
 import com.simsilica.lemur.geom.TbtQuad;
@@ -285,6 +286,10 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
 
     protected void createGeometry() {
         background = new Geometry("background", quad);
+        if( !lit ) {
+            // Let a BackgroundBatchControl draw us if there is one
+            background.setUserData(BackgroundBatchControl.BATCHABLE, true);
+        }
         if( material == null ) {
             createMaterial();
         }
@@ -0,0 +1,533 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.component;
+
+import com.jme3.font.*;
+import com.jme3.font.Rectangle;
+import com.jme3.math.*;
+import com.jme3.scene.Node;
+
+import com.simsilica.lemur.DefaultRangedValueModel;
+import com.simsilica.lemur.LayerComparator;
+import com.simsilica.lemur.RangedValueModel;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiUpdateListener;
+import com.simsilica.lemur.core.VersionedReference;
+
+
+/**
+ *  A read-only, multi-line text component that only renders the
+ *  lines that are currently visible.  The lines are kept as plain
+ *  strings and a small pool of single-line BitmapText objects, one
+ *  per visible row, is reused as the view scrolls.  Adding lines
+ *  never relayouts the lines that are already displayed, only the
+ *  rows that actually show different text.  This makes it suitable
+ *  for logs and consoles that grow to many thousands of lines.
+ *
+ *  <p>Lines are not wrapped.  Text wider than the component is clipped.</p>
+ *
+ *  <p>The scroll model's value is the index of the top visible line
+ *  and its maximum is the last index that still fills the view.  When
+ *  the view is scrolled to the end then it will stay at the end as
+ *  new lines are added.</p>
+ */
+public class TextAreaComponent extends AbstractGuiComponent
+                               implements ColoredComponent {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Holds the font, size, color, and alpha settings for the pool
+    private BitmapText prototype;
+    private int layer;
+    private float preferredWidth;
+    private int preferredLineCount = 10;
+
+    // Ring buffer of lines with 'head' being the index of line 0
+    private String[] lines = new String[DEFAULT_CAPACITY];
+    private int head;
+    private int size;
+    private int maxLines;
+
+    // The total number of lines ever dropped from the front.  A line's
+    // serial number, dropped + index, doesn't change as lines are dropped
+    // so it can be used to tell which rows are still valid.
+    private long dropped;
+
+    private Node textNode;
+    private BitmapText[] rows = new BitmapText[0];
+    private long[] rowSerials = new long[0];
+    private Vector3f viewSize = new Vector3f();
+    private boolean linesChanged;
+
+    private RangedValueModel scrollModel;
+    private VersionedReference<Double> scrollRef;
+    private GuiUpdateListener updateListener = new ViewUpdater();
+
+    public TextAreaComponent( BitmapFont font ) {
+        this.prototype = new BitmapText(font);
+        this.textNode = new Node("textArea");
+        setScrollModel(new DefaultRangedValueModel(0, 0, 0));
+    }
+
+    @Override
+    public TextAreaComponent clone() {
+        TextAreaComponent result = (TextAreaComponent)super.clone();
+        result.prototype = prototype.clone();
+        result.lines = lines.clone();
+        result.textNode = new Node("textArea");
+        result.rows = new BitmapText[0];
+        result.rowSerials = new long[0];
+        result.viewSize = new Vector3f();
+        result.updateListener = result.new ViewUpdater();
+        result.setScrollModel(new DefaultRangedValueModel(scrollModel.getMinimum(),
+                                                          scrollModel.getMaximum(),
+                                                          scrollModel.getValue()));
+        return result;
+    }
+
+    @Override
+    public void attach( GuiControl parent ) {
+        super.attach(parent);
+        parent.addUpdateListener(updateListener);
+        getNode().attachChild(textNode);
+    }
+
+    @Override
+    public void detach( GuiControl parent ) {
+        getNode().detachChild(textNode);
+        parent.removeUpdateListener(updateListener);
+        super.detach(parent);
+    }
+
+    /**
+     *  Sets the model that controls which line is at the top of the
+     *  view.  Its value, minimum, and maximum are managed by this component
+     *  as lines are added but a Slider or other control can use it to scroll.
+     */
+    public void setScrollModel( RangedValueModel scrollModel ) {
+        if( scrollModel == null ) {
+            throw new IllegalArgumentException("Scroll model cannot be null");
+        }
+        this.scrollModel = scrollModel;
+        this.scrollRef = scrollModel.createReference();
+        resetScrollRange();
+        linesChanged = true;
+    }
+
+    public RangedValueModel getScrollModel() {
+        return scrollModel;
+    }
+
+    /**
+     *  Adds a line to the end of the text.  Embedded new lines will
+     *  result in multiple lines being added.
+     */
+    public void addLine( String line ) {
+        if( line == null ) {
+            line = "";
+        }
+        boolean atEnd = isScrolledToEnd();
+        int split = line.indexOf('\n');
+        if( split < 0 ) {
+            addSingleLine(line);
+        } else {
+            int start = 0;
+            while( split >= 0 ) {
+                addSingleLine(line.substring(start, split));
+                start = split + 1;
+                split = line.indexOf('\n', start);
+            }
+            addSingleLine(line.substring(start));
+        }
+        linesChanged = true;
+        resetScrollRange();
+        if( atEnd ) {
+            scrollToEnd();
+        }
+    }
+
+    protected void addSingleLine( String line ) {
+        int end = line.length();
+        if( end > 0 && line.charAt(end - 1) == '\r' ) {
+            line = line.substring(0, end - 1);
+        }
+        if( maxLines > 0 && size == maxLines ) {
+            // Overwrite the oldest line.  The array may be larger than
+            // maxLines so the new line goes just past the current end.
+            int tail = (head + size) % lines.length;
+            if( tail != head ) {
+                lines[head] = null;
+            }
+            lines[tail] = line;
+            head = (head + 1) % lines.length;
+            dropped++;
+            // Keep the same text at the top when the user has scrolled back
+            double top = scrollModel.getValue();
+            if( top > 0 ) {
+                scrollModel.setValue(top - 1);
+            }
+            return;
+        }
+        if( size == lines.length ) {
+            int capacity = lines.length * 2;
+            if( maxLines > 0 ) {
+                capacity = Math.min(capacity, maxLines);
+            }
+            resize(capacity);
+        }
+        lines[(head + size) % lines.length] = line;
+        size++;
+    }
+
+    public String getLine( int index ) {
+        if( index < 0 || index >= size ) {
+            throw new IndexOutOfBoundsException("Index:" + index + ", Size:" + size);
+        }
+        return lines[(head + index) % lines.length];
+    }
+
+    public int getLineCount() {
+        return size;
+    }
+
+    public void clear() {
+        dropped += size;
+        lines = new String[DEFAULT_CAPACITY];
+        head = 0;
+        size = 0;
+        linesChanged = true;
+        resetScrollRange();
+    }
+
+    /**
+     *  Sets the maximum number of lines to keep.  When more lines are
+     *  added then the oldest are discarded.  Defaults to 0, no limit.
+     */
+    public void setMaxLines( int maxLines ) {
+        if( this.maxLines == maxLines ) {
+            return;
+        }
+        this.maxLines = Math.max(0, maxLines);
+        if( this.maxLines > 0 && size > this.maxLines ) {
+            int extra = size - this.maxLines;
+            head = (head + extra) % lines.length;
+            size -= extra;
+            dropped += extra;
+            scrollModel.setValue(Math.max(0, scrollModel.getValue() - extra));
+            resize(this.maxLines);
+            linesChanged = true;
+            resetScrollRange();
+        }
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    protected void resize( int capacity ) {
+        String[] array = new String[capacity];
+        for( int i = 0; i < size; i++ ) {
+            array[i] = lines[(head + i) % lines.length];
+        }
+        this.lines = array;
+        this.head = 0;
+    }
+
+    /**
+     *  Returns the number of full lines that fit in the current
+     *  view.  Before the component has been sized this will be the
+     *  preferred line count.
+     */
+    public int getVisibleLineCount() {
+        if( viewSize.y <= 0 ) {
+            return Math.max(1, preferredLineCount);
+        }
+        return Math.max(1, (int)(viewSize.y / getLineHeight()));
+    }
+
+    public void setTopLine( int line ) {
+        scrollModel.setValue(line);
+    }
+
+    public int getTopLine() {
+        return (int)scrollModel.getValue();
+    }
+
+    public boolean isScrolledToEnd() {
+        return scrollModel.getValue() >= scrollModel.getMaximum();
+    }
+
+    public void scrollToEnd() {
+        scrollModel.setValue(scrollModel.getMaximum());
+    }
+
+    protected void resetScrollRange() {
+        scrollModel.setMinimum(0);
+        scrollModel.setMaximum(Math.max(0, size - getVisibleLineCount()));
+    }
+
+    public float getLineHeight() {
+        return prototype.getLineHeight();
+    }
+
+    public void setLayer( int layer ) {
+        if( this.layer == layer ) {
+            return;
+        }
+        this.layer = layer;
+        for( BitmapText row : rows ) {
+            LayerComparator.resetLayer(row, layer);
+        }
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public void setFont( BitmapFont font ) {
+        if( font == prototype.getFont() ) {
+            return;
+        }
+
+        // BitmapText can't change fonts so everything gets recreated
+        BitmapText newText = new BitmapText(font);
+        if( prototype.getSize() != prototype.getFont().getCharSet().getRenderedSize() ) {
+            // The caller has overridden the default font size so we'll keep it.
+            newText.setSize(prototype.getSize());
+        }
+        newText.setColor(prototype.getColor());
+        newText.setAlpha(prototype.getAlpha());
+        this.prototype = newText;
+        releaseRows();
+        invalidate();
+    }
+
+    public BitmapFont getFont() {
+        return prototype.getFont();
+    }
+
+    public void setFontSize( float size ) {
+        if( prototype.getSize() == size ) {
+            return;
+        }
+        prototype.setSize(size);
+        releaseRows();
+        invalidate();
+    }
+
+    public float getFontSize() {
+        return prototype.getSize();
+    }
+
+    @Override
+    public void setColor( ColorRGBA color ) {
+        float alpha = prototype.getAlpha();
+        prototype.setColor(color);
+        if( alpha != 1 ) {
+            prototype.setAlpha(alpha);
+        }
+        for( BitmapText row : rows ) {
+            row.setColor(prototype.getColor());
+            if( alpha != 1 ) {
+                row.setAlpha(alpha);
+            }
+        }
+    }
+
+    @Override
+    public ColorRGBA getColor() {
+        return prototype.getColor();
+    }
+
+    @Override
+    public void setAlpha( float f ) {
+        prototype.setAlpha(f);
+        for( BitmapText row : rows ) {
+            row.setAlpha(f);
+        }
+    }
+
+    @Override
+    public float getAlpha() {
+        return prototype.getAlpha();
+    }
+
+    /**
+     *  Sets the preferred width of this component.  When 0, the default,
+     *  the width of the widest line in the last preferredLineCount lines
+     *  is used.
+     */
+    public void setPreferredWidth( float f ) {
+        this.preferredWidth = f;
+        invalidate();
+    }
+
+    public float getPreferredWidth() {
+        return preferredWidth;
+    }
+
+    public void setPreferredLineCount( int i ) {
+        this.preferredLineCount = i;
+        invalidate();
+    }
+
+    public int getPreferredLineCount() {
+        return preferredLineCount;
+    }
+
+    @Override
+    public void calculatePreferredSize( Vector3f size ) {
+        int count = Math.max(1, preferredLineCount);
+        size.y = getLineHeight() * count;
+        if( preferredWidth > 0 ) {
+            size.x = preferredWidth;
+            return;
+        }
+
+        // Only ever measure a view's worth of lines so that the cost
+        // doesn't grow with the content.
+        float width = 0;
+        Vector2f measured = new Vector2f();
+        TextMeasurer measurer = TextMeasurer.getInstance();
+        for( int i = Math.max(0, this.size - count); i < this.size; i++ ) {
+            measurer.measure(getLine(i), prototype.getFont(), prototype.getSize(), 0,
+                             null, null, measured);
+            width = Math.max(width, measured.x);
+        }
+        size.x = width + 0.01f;
+    }
+
+    @Override
+    public void reshape( Vector3f pos, Vector3f size ) {
+        textNode.setLocalTranslation(pos.x, pos.y, pos.z);
+        boolean resized = viewSize.x != size.x || viewSize.y != size.y;
+        viewSize.set(size);
+        if( resized ) {
+            // The row boxes have changed so they will all need
+            // new layouts anyway
+            releaseRows();
+            resetScrollRange();
+        }
+        refreshRows();
+    }
+
+    /**
+     *  Removes all of the pooled rows so that they will be recreated
+     *  with the current font settings on the next refresh.
+     */
+    protected void releaseRows() {
+        textNode.detachAllChildren();
+        rows = new BitmapText[0];
+        rowSerials = new long[0];
+        linesChanged = true;
+    }
+
+    protected BitmapText createRow() {
+        BitmapText row = new BitmapText(prototype.getFont());
+        row.setSize(prototype.getSize());
+        row.setColor(prototype.getColor());
+        row.setAlpha(prototype.getAlpha());
+        row.setLineWrapMode(LineWrapMode.Clip);
+        row.setBox(new Rectangle(0, 0, viewSize.x, getLineHeight()));
+        LayerComparator.resetLayer(row, layer);
+        return row;
+    }
+
+    /**
+     *  Updates the pooled rows to show the lines starting at the
+     *  current top line.  Rows are assigned by line serial number so
+     *  scrolling by a few lines only needs to set the text of the rows
+     *  that scrolled into view.  The rest are just moved.
+     */
+    protected void refreshRows() {
+        linesChanged = false;
+        if( viewSize.y <= 0 ) {
+            return;
+        }
+
+        int count = getVisibleLineCount();
+        if( rows.length != count ) {
+            textNode.detachAllChildren();
+            rows = new BitmapText[count];
+            rowSerials = new long[count];
+            for( int i = 0; i < count; i++ ) {
+                rows[i] = createRow();
+                rowSerials[i] = -1;
+            }
+        }
+
+        float lineHeight = getLineHeight();
+        int top = Math.max(0, Math.min(getTopLine(), size - 1));
+        for( int i = 0; i < count; i++ ) {
+            int index = top + i;
+            long serial = dropped + index;
+            int slot = (int)(serial % count);
+            BitmapText row = rows[slot];
+            if( index >= size ) {
+                continue;
+            }
+            if( rowSerials[slot] != serial ) {
+                rowSerials[slot] = serial;
+                row.setText(getLine(index));
+            }
+            row.setLocalTranslation(0, -i * lineHeight, 0);
+            if( row.getParent() == null ) {
+                textNode.attachChild(row);
+            }
+        }
+
+        // Any slots not used for visible lines get removed
+        for( int i = 0; i < count; i++ ) {
+            long serial = rowSerials[i];
+            long index = serial - dropped;
+            if( serial < 0 || index < top || index >= top + count || index >= size ) {
+                rows[i].removeFromParent();
+                rowSerials[i] = -1;
+            }
+        }
+    }
+
+    private class ViewUpdater implements GuiUpdateListener {
+
+        @Override
+        public void guiUpdate( GuiControl source, float tpf ) {
+            if( scrollRef.update() || linesChanged ) {
+                refreshRows();
+            }
+        }
+    }
+}
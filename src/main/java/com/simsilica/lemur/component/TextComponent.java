@@ -62,6 +62,7 @@ public class TextComponent extends AbstractGuiComponent
     private Vector3f offset = null;
     private int layer;
     private float maxWidth;
+    private Vector2f measured = new Vector2f();
 
     public TextComponent( String text, BitmapFont font ) {
         this.bitmapText = new BitmapText(font);
@@ -73,6 +74,7 @@ public class TextComponent extends AbstractGuiComponent
         TextComponent result = (TextComponent)super.clone();
         result.bitmapText = bitmapText.clone();
         result.textBox = null;
+        result.measured = new Vector2f();
         return result;
     }
 
@@ -296,18 +298,12 @@ public class TextComponent extends AbstractGuiComponent
     }
 
     public void calculatePreferredSize( Vector3f size ) {
-        
-        // Make sure that the bitmapText reports a reliable
-        // preferred size
-        bitmapText.setBox(null);
-
-        if( maxWidth > 0 ) {
-            // Give the text a box that constrains the width
-            bitmapText.setBox(new Rectangle(0, 0, maxWidth, 0));
-        }
 
-        size.x = bitmapText.getLineWidth();
-        size.y = bitmapText.getHeight();
+        // Measure without touching the bitmapText's own box so that
+        // it doesn't have to redo its layout just to tell us its size.
+        TextMeasurer.getInstance().measure(bitmapText, maxWidth, measured);
+        size.x = measured.x;
+        size.y = measured.y;
 
         if( offset != null ) {
             size.x += Math.abs(offset.x);
@@ -316,9 +312,6 @@ public class TextComponent extends AbstractGuiComponent
         }
 
         size.x += 0.01f;
-
-        // Reset any text box we already had
-        bitmapText.setBox(textBox);
     }
 
     protected void resetAlignment() {
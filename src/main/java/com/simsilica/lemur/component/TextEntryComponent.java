@@ -66,8 +66,13 @@ import com.simsilica.lemur.event.ModifiedKeyInputEvent;
 import com.simsilica.lemur.focus.FocusTarget;
 import com.simsilica.lemur.focus.FocusNavigationState;
 import com.simsilica.lemur.focus.FocusTraversal.TraversalDirection;
+import com.simsilica.lemur.text.DocumentChange;
 import com.simsilica.lemur.text.DocumentModel;
+import com.simsilica.lemur.text.DocumentModelListener;
+import com.simsilica.lemur.text.DocumentModelFilter;
+import com.simsilica.lemur.text.GlyphAdvances;
 import com.simsilica.lemur.text.DefaultDocumentModel;
+import com.simsilica.lemur.text.ObservableDocumentModel;
 
 
 /**
@@ -142,6 +147,14 @@ public class TextEntryComponent extends AbstractGuiComponent
 
     // This really only works properly in single-line mode.
     private int textOffset = 0;
+    private GlyphAdvances advances;
+
+    // Per-line glyph data that, for models that report their changes,
+    // is only rebuilt for the lines that actually changed.  A null entry
+    // is a line that hasn't been measured yet.
+    private List<LineGlyphs> lineGlyphs = new ArrayList<LineGlyphs>();
+    private DocumentModelListener changeTracker = new ChangeTracker();
+    private boolean trackingChanges;
 
     private Map<KeyAction,KeyActionListener> actionMap = new HashMap<KeyAction,KeyActionListener>(standardActions);
 
@@ -151,6 +164,7 @@ public class TextEntryComponent extends AbstractGuiComponent
 
     public TextEntryComponent( DocumentModel model, BitmapFont font ) {
         this.font = font;
+        this.advances = new GlyphAdvances(font);
         this.bitmapText = new BitmapText(font);
         bitmapText.setLineWrapMode(LineWrapMode.Clip);
         // Can't really do this since we don't know what
@@ -184,6 +198,10 @@ public class TextEntryComponent extends AbstractGuiComponent
         result.model = model.clone();
         result.preferredSize = null;
         result.textBox = null;
+        result.advances = new GlyphAdvances(font);
+        result.lineGlyphs = new ArrayList<LineGlyphs>();
+        result.changeTracker = result.new ChangeTracker();
+        result.trackingChanges = false;
         result.keyHandler = result.new KeyHandler();
         result.cursorQuad = new Quad(getCursorWidth(), bitmapText.getLineHeight());
         result.cursor = new Geometry("cursor", cursorQuad);
@@ -200,6 +218,12 @@ public class TextEntryComponent extends AbstractGuiComponent
     public void attach( GuiControl parent ) {
         super.attach(parent);
         parent.addUpdateListener(updateListener);
+        if( canTrackChanges(model) ) {
+            // Anything could have happened while we weren't listening
+            lineGlyphs.clear();
+            ((ObservableDocumentModel)model).addDocumentModelListener(changeTracker);
+            trackingChanges = true;
+        }
         getNode().attachChild(bitmapText);
         resetCursorPosition();
         resetCursorState();
@@ -212,6 +236,10 @@ public class TextEntryComponent extends AbstractGuiComponent
     @Override
     public void detach( GuiControl parent ) {
         GuiGlobals.getInstance().removeKeyListener(keyHandler);
+        if( trackingChanges ) {
+            ((ObservableDocumentModel)model).removeDocumentModelListener(changeTracker);
+            trackingChanges = false;
+        }
 
         getNode().detachChild(bitmapText);
         parent.removeUpdateListener(updateListener);
@@ -305,6 +333,8 @@ public class TextEntryComponent extends AbstractGuiComponent
         
          // we also need to change the font! as the font parameter is used in getVisibleWidth()
         this.font = font;
+        this.advances = new GlyphAdvances(font);
+        lineGlyphs.clear();
                 
         resizeCursor();
         resetCursorPosition();
@@ -376,25 +406,15 @@ public class TextEntryComponent extends AbstractGuiComponent
         String text = model.getText();
         if( textOffset != 0 ) {
             textOffset = Math.min(textOffset, text.length());
-            text = text.substring(textOffset);
 
             if( textBox != null ) {
-                // See if this offset even makes sense now
-                float x = getVisibleWidth(text);
-                if( x < textBox.width ) {
-                    while( textOffset > 0 ) {
-                        textOffset--;
-                        text = model.getText().substring(textOffset);
-                        x = getVisibleWidth(text);
-                        if( x > textBox.width ) {
-                            textOffset++;
-                            text = model.getText().substring(textOffset);
-                            break;
-                        }
-                    }
-
-                }
+                // See if this offset even makes sense now.  If more of the
+                // text would fit then scroll back as far as we can.
+                GlyphAdvances glyphs = getTextAdvances(text);
+                int start = glyphs.findStart(text.length(), textBox.width / getTextScale());
+                textOffset = Math.min(textOffset, start);
             }
+            text = text.substring(textOffset);
         }
 
         if( text != null && text.equals(bitmapText.getText()) )
@@ -405,6 +425,13 @@ public class TextEntryComponent extends AbstractGuiComponent
         invalidate();
     }
 
+    /**
+     *  Returns the scale from font units to the current font size.
+     */
+    protected float getTextScale() {
+        return bitmapText.getSize() / font.getPreferredSize();
+    }
+
     protected float getVisibleWidth( String text ) {
         float x = font.getLineWidth(text + " ");
         x -= font.getLineWidth(" ");
@@ -451,6 +478,44 @@ public class TextEntryComponent extends AbstractGuiComponent
         }
     }
 
+    /**
+     *  Returns glyph advances for the full text, reusing the cached
+     *  line advances when the text is a single line.
+     */
+    protected GlyphAdvances getTextAdvances( String text ) {
+        if( model.getLineCount() == 1 ) {
+            return getLineAdvances(0);
+        }
+        advances.setText(text);
+        return advances;
+    }
+
+    /**
+     *  Returns the glyph advances for the specified line.  When the
+     *  model reports its changes then only lines that have changed
+     *  since the last call are remeasured.
+     */
+    protected GlyphAdvances getLineAdvances( int line ) {
+        int count = model.getLineCount();
+        if( lineGlyphs.size() != count ) {
+            // We've lost track of the lines somehow so start fresh
+            lineGlyphs.clear();
+            lineGlyphs.addAll(Collections.<LineGlyphs>nCopies(count, null));
+        }
+        LineGlyphs glyphs = lineGlyphs.get(line);
+        if( glyphs == null ) {
+            glyphs = new LineGlyphs(font);
+            lineGlyphs.set(line, glyphs);
+        }
+        if( glyphs.dirty ) {
+            glyphs.advances.setText(model.getLine(line));
+            // Without change events we have to check the line every time,
+            // though GlyphAdvances will still reuse any unchanged prefix.
+            glyphs.dirty = !trackingChanges;
+        }
+        return glyphs.advances;
+    }
+
     protected void resetCursorPosition() {
         // Find the current cursor position.
         int line = model.getCaratLine();
@@ -461,28 +526,21 @@ public class TextEntryComponent extends AbstractGuiComponent
             resetText();
         }
 
-        String row = model.getLine(line);
-        row = row.substring(textOffset,column);
-
-        // We add an extra space to properly advance (since often
-        // the space character only has a width of 1 but will advance
-        // far) then we subtract that space width back.
-        float x = font.getLineWidth(row + " ");
-        x -= font.getLineWidth(" ");
-
-        // And pad it out just a bit...
-        //x += 1;
-
-        float scale = bitmapText.getSize() / font.getPreferredSize();
-        x *= scale;
+        // The carat sits at the pen position after the last visible
+        // character before it, which is the full advance of that character
+        // and not just its width.
+        GlyphAdvances glyphs = getLineAdvances(line);
+        float scale = getTextScale();
+        float x = glyphs.getWidth(textOffset, column) * scale;
 
         float y = -line * bitmapText.getLineHeight();
         y -= bitmapText.getLineHeight();
 
         if( textBox != null && x > textBox.width ) {
-            if( singleLine ) {
-                // Then we can move the text offset and try again
-                textOffset++;
+            if( singleLine && textOffset < column ) {
+                // Then we can move the text offset just far enough to
+                // see the carat and try again
+                textOffset = Math.max(textOffset + 1, glyphs.findStart(column, textBox.width / scale));
                 resetText();
                 resetCursorPosition();
                 return;
@@ -575,23 +633,22 @@ public class TextEntryComponent extends AbstractGuiComponent
             return;
         }
 
-        // Make sure that the bitmapText reports a reliable
-        // preferred size
-        bitmapText.setBox(null);
+        Vector2f measured = null;
+        if( preferredWidth == 0 || preferredLineCount == 0 ) {
+            // Measure without disturbing the bitmapText's own box
+            measured = TextMeasurer.getInstance().measure(bitmapText, 0, null);
+        }
 
         if( preferredWidth == 0 ) {
-            size.x = bitmapText.getLineWidth();
+            size.x = measured.x;
         } else {
             size.x = preferredWidth;
         }
         if( preferredLineCount == 0 ) {
-            size.y = bitmapText.getHeight();
+            size.y = measured.y;
         } else {
             size.y = bitmapText.getLineHeight() * preferredLineCount;
         }
-
-        // Reset any text box we already had
-        bitmapText.setBox(textBox);
     }
 
     protected void resetAlignment() {
@@ -768,6 +825,56 @@ public class TextEntryComponent extends AbstractGuiComponent
         }
     }
  
+    /**
+     *  Returns true if the model will reliably report its changes.  A
+     *  DocumentModelFilter is always observable but only passes changes
+     *  through when its own delegate reports them.
+     */
+    private static boolean canTrackChanges( DocumentModel model ) {
+        if( model instanceof DocumentModelFilter ) {
+            return ((DocumentModelFilter)model).canReportChanges();
+        }
+        return model instanceof ObservableDocumentModel;
+    }
+
+    private static class LineGlyphs {
+        private GlyphAdvances advances;
+        private boolean dirty = true;
+
+        public LineGlyphs( BitmapFont font ) {
+            this.advances = new GlyphAdvances(font);
+        }
+    }
+
+    private class ChangeTracker implements DocumentModelListener {
+
+        @Override
+        public void documentChanged( DocumentChange change ) {
+            int start = change.getStartLine();
+            int removed = change.getRemovedLineCount();
+            int inserted = change.getInsertedLineCount();
+            if( lineGlyphs.size() != model.getLineCount() - change.getLineDelta()
+                || start + removed > lineGlyphs.size() ) {
+                // Out of sync so let getLineAdvances() start over
+                lineGlyphs.clear();
+                return;
+            }
+            if( removed == inserted ) {
+                // Keep the existing glyph data around so that it can
+                // reuse whatever prefix is unchanged.
+                for( int i = start; i < start + removed; i++ ) {
+                    LineGlyphs glyphs = lineGlyphs.get(i);
+                    if( glyphs != null ) {
+                        glyphs.dirty = true;
+                    }
+                }
+            } else {
+                lineGlyphs.subList(start, start + removed).clear();
+                lineGlyphs.addAll(start, Collections.<LineGlyphs>nCopies(inserted, null));
+            }
+        }
+    }
+
     /**
      *  Checks for changes in the model and updates the text display
      *  or cursor position as necessary.
@@ -0,0 +1,303 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.component;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import com.jme3.font.BitmapFont;
+import com.jme3.font.BitmapFont.Align;
+import com.jme3.font.BitmapFont.VAlign;
+import com.jme3.font.BitmapText;
+import com.jme3.font.Rectangle;
+import com.jme3.math.Vector2f;
+
+import com.simsilica.lemur.text.GlyphAdvances;
+
+
+/**
+ *  Measures the preferred size of text without disturbing the BitmapText
+ *  that is actually being rendered.  Plain single line text without a
+ *  max width is measured directly from the per-font glyph tables in
+ *  GlyphAdvances.  Everything else is laid out with a private scratch
+ *  BitmapText that is never attached to the scene and the results are
+ *  kept in a bounded cache keyed by text, font, font size, max width,
+ *  and alignment.
+ *
+ *  <p>Measuring this way gives the same answers as asking the rendered
+ *  BitmapText, including word wrapping, kerning, and color tags, while
+ *  panels that get laid out again without changing their text don't
+ *  cause any glyph layout at all.</p>
+ *
+ *  <p>TextMeasurer is thread safe so that GUI elements can be measured
+ *  when they are built off of the render thread.</p>
+ *
+ *  <p>Cached sizes only weakly reference their fonts.  Cached sizes for a
+ *  font that has been garbage collected can no longer be matched and
+ *  simply age out of the cache.  The scratch BitmapText does hold its
+ *  font but it is replaced when a different font is laid out and released
+ *  by clearCache().</p>
+ */
+public class TextMeasurer {
+
+    public static final int DEFAULT_CACHE_SIZE = 2048;
+
+    /**
+     *  Text longer than this is still measured but is not cached so that
+     *  large or constantly edited text can't fill up memory.
+     */
+    public static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final TextMeasurer instance = new TextMeasurer(DEFAULT_CACHE_SIZE);
+
+    private final Map<Key, Vector2f> cache;
+
+    // Reused for cache lookups so that cache hits don't create anything.
+    // Only guarded by 'this'.
+    private final Key lookup = new Key();
+
+    // One scratch BitmapText for whatever font was last laid out.  Only
+    // guarded by 'this'.
+    private BitmapText scratch;
+    private int hits;
+    private int misses;
+
+    public TextMeasurer( final int maxCacheSize ) {
+        this.cache = new LinkedHashMap<Key, Vector2f>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry( Map.Entry<Key, Vector2f> eldest ) {
+                    return size() > maxCacheSize;
+                }
+            };
+    }
+
+    /**
+     *  Returns the shared TextMeasurer used by the standard text components.
+     */
+    public static TextMeasurer getInstance() {
+        return instance;
+    }
+
+    /**
+     *  Measures the specified text as a BitmapText with the specified font
+     *  and font size would lay it out.  If maxWidth is greater than 0 then
+     *  the text is wrapped to that width using the specified alignment.
+     *  The width is stored in store.x and the height in store.y.
+     */
+    public Vector2f measure( String text, BitmapFont font, float fontSize, float maxWidth,
+                             Align hAlign, VAlign vAlign, Vector2f store ) {
+        if( store == null ) {
+            store = new Vector2f();
+        }
+        if( text == null ) {
+            text = "";
+        }
+        if( maxWidth <= 0 ) {
+            // Alignment has no effect without a text box
+            maxWidth = 0;
+            hAlign = Align.Left;
+            vAlign = VAlign.Top;
+            if( isPlainLine(text) ) {
+                float scale = fontSize / font.getPreferredSize();
+                return store.set(GlyphAdvances.getLineWidth(font, text) * scale,
+                                 font.getCharSet().getLineHeight() * scale);
+            }
+        }
+        synchronized( this ) {
+            lookup.set(text, font, fontSize, maxWidth, hAlign, vAlign);
+            Vector2f result = cache.get(lookup);
+            if( result == null ) {
+                misses++;
+                result = layout(lookup);
+                if( text.length() <= MAX_CACHED_LENGTH ) {
+                    cache.put(lookup.copy(), result);
+                }
+            } else {
+                hits++;
+            }
+            lookup.clear();
+            return store.set(result);
+        }
+    }
+
+    /**
+     *  Convenience method that measures the current text, font, size, and
+     *  alignment of the specified BitmapText without modifying it.
+     */
+    public Vector2f measure( BitmapText bitmapText, float maxWidth, Vector2f store ) {
+        return measure(bitmapText.getText(), bitmapText.getFont(), bitmapText.getSize(), maxWidth,
+                       bitmapText.getAlignment(), bitmapText.getVerticalAlignment(), store);
+    }
+
+    public synchronized void clearCache() {
+        cache.clear();
+        scratch = null;
+    }
+
+    public synchronized int getCacheSize() {
+        return cache.size();
+    }
+
+    public synchronized int getCacheHits() {
+        return hits;
+    }
+
+    public synchronized int getCacheMisses() {
+        return misses;
+    }
+
+    /**
+     *  Returns true if the text is non-empty and has no line breaks, tabs,
+     *  or color tags, ie: if its width is just the sum of its glyphs.
+     */
+    private static boolean isPlainLine( String text ) {
+        int size = text.length();
+        if( size == 0 ) {
+            return false;
+        }
+        for( int i = 0; i < size; i++ ) {
+            switch( text.charAt(i) ) {
+                case '\n':
+                case '\r':
+                case '\t':
+                case '\\':
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private Vector2f layout( Key key ) {
+        // Note: the scratch BitmapText keeps a reference to the last text
+        // it measured.
+        BitmapText text = scratch;
+        if( text == null || text.getFont() != key.font ) {
+            text = new BitmapText(key.font);
+            scratch = text;
+        }
+        text.setSize(key.fontSize);
+        if( key.maxWidth > 0 ) {
+            text.setBox(new Rectangle(0, 0, key.maxWidth, 0));
+            text.setAlignment(key.hAlign);
+            text.setVerticalAlignment(key.vAlign);
+        } else {
+            text.setBox(null);
+        }
+        text.setText(key.text);
+        return new Vector2f(text.getLineWidth(), text.getHeight());
+    }
+
+    /**
+     *  A cache key.  The reusable lookup key holds its font directly while
+     *  the copies stored in the cache only hold it weakly.
+     */
+    private static final class Key {
+        String text;
+        BitmapFont font;
+        WeakReference<BitmapFont> fontRef;
+        float fontSize;
+        float maxWidth;
+        Align hAlign;
+        VAlign vAlign;
+        int hash;
+
+        public void set( String text, BitmapFont font, float fontSize, float maxWidth,
+                         Align hAlign, VAlign vAlign ) {
+            this.text = text;
+            this.font = font;
+            this.fontSize = fontSize;
+            this.maxWidth = maxWidth;
+            this.hAlign = hAlign;
+            this.vAlign = vAlign;
+
+            int h = text.hashCode();
+            h = 31 * h + System.identityHashCode(font);
+            h = 31 * h + Float.floatToIntBits(fontSize);
+            h = 31 * h + Float.floatToIntBits(maxWidth);
+            h = 31 * h + (hAlign == null ? 0 : hAlign.hashCode());
+            h = 31 * h + (vAlign == null ? 0 : vAlign.hashCode());
+            this.hash = h;
+        }
+
+        public void clear() {
+            this.text = null;
+            this.font = null;
+        }
+
+        /**
+         *  Returns a copy of this key that only weakly references the font.
+         */
+        public Key copy() {
+            Key result = new Key();
+            result.text = text;
+            result.fontRef = new WeakReference<BitmapFont>(font);
+            result.fontSize = fontSize;
+            result.maxWidth = maxWidth;
+            result.hAlign = hAlign;
+            result.vAlign = vAlign;
+            result.hash = hash;
+            return result;
+        }
+
+        private BitmapFont getFont() {
+            return font != null ? font : fontRef.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( !(o instanceof Key) ) {
+                return false;
+            }
+            Key other = (Key)o;
+            BitmapFont f = getFont();
+            return f != null && f == other.getFont()
+                && fontSize == other.fontSize
+                && maxWidth == other.maxWidth
+                && hAlign == other.hAlign
+                && vAlign == other.vAlign
+                && text.equals(other.text);
+        }
+    }
+}
@@ -0,0 +1,661 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.*;
+
+import com.jme3.material.MatParam;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState;
+import com.jme3.material.RenderState.BlendMode;
+import com.jme3.material.RenderState.FaceCullMode;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.post.SceneProcessor;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.*;
+import com.jme3.scene.Spatial.CullHint;
+import com.jme3.scene.VertexBuffer.Type;
+import com.jme3.scene.mesh.IndexBuffer;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Texture;
+import com.jme3.util.BufferUtils;
+
+import com.simsilica.lemur.GuiGlobals;
+
+
+/**
+ *  An opt-in control that draws the batchable background geometry of
+ *  a GUI subtree with a few merged meshes instead of one draw call per
+ *  background.  Add it to the root Node of a subtree, a HUD panel for
+ *  example, and every background below it that is marked with the
+ *  BATCHABLE user data will be drawn as part of a batch.
+ *
+ *  <p>QuadBackgroundComponent and TbtQuadBackgroundComponent mark their
+ *  unlit backgrounds as batchable.  Batches are grouped by texture, blend
+ *  mode, face culling, depth test/write, and alpha discard threshold.  The
+ *  background colors become vertex colors in the batch.</p>
+ *
+ *  <p>The original background geometries stay in the scene graph so that
+ *  picking, bounds, and layout work as before.  They are just culled
+ *  while the scene is being queued for rendering and their own cull hints
+ *  are put back right after, so application code always sees and controls
+ *  its own cull hints.  Each frame, the batched geometries are
+ *  checked against their last known transform, mesh data, and material
+ *  color.  Only the vertex ranges that changed are rewritten.  Adding,
+ *  removing, or z-reordering backgrounds rebuilds the affected batch.
+ *  Backgrounds that have CullHint.Always or are under a Node with
+ *  CullHint.Always are left out of the batches.  The subtree should
+ *  only be rendered by one ViewPort.</p>
+ *
+ *  <p>The batch meshes are drawn in the subtree root's queue bucket at
+ *  the subtree root's position.  Within a batch, backgrounds are
+ *  drawn back to front by z.  Batches are drawn before anything else
+ *  in the subtree, though.  So this is best suited to subtrees where
+ *  backgrounds do not overlap other elements' text or icons, for example
+ *  a HUD or an inventory grid, and not to overlapping windows.  Layers
+ *  set with LayerComparator are also not considered within the
+ *  batch.</p>
+ */
+public class BackgroundBatchControl extends AbstractNodeControl<BackgroundBatchControl> {
+
+    /**
+     *  The user data key that marks a Geometry as batchable.  The
+     *  value should be Boolean.TRUE.
+     */
+    public static final String BATCHABLE = "lemur.batchable";
+
+    private static final String UNSHADED = "Common/MatDefs/Misc/Unshaded.j3md";
+
+    private final Map<Geometry, Entry> entries = new IdentityHashMap<Geometry, Entry>();
+    private final Map<BatchKey, Batch> batches = new HashMap<BatchKey, Batch>();
+    private final Transform lastRootTransform = new Transform();
+    private int frame;
+    private ViewPort viewPort;
+    private final HintRestorer restorer = new HintRestorer();
+
+    // Scratch vectors for transforming vertexes
+    private final Vector3f vTemp = new Vector3f();
+    private final Vector3f wTemp = new Vector3f();
+
+    public BackgroundBatchControl() {
+    }
+
+    /**
+     *  Returns the number of batch meshes that are currently drawn
+     *  in place of the individual background geometries.
+     */
+    public int getBatchCount() {
+        return batches.size();
+    }
+
+    /**
+     *  Returns the number of background geometries that are currently
+     *  drawn as part of a batch.
+     */
+    public int getBatchedGeometryCount() {
+        return entries.size();
+    }
+
+    @Override
+    protected void attach() {
+        lastRootTransform.loadIdentity();
+    }
+
+    @Override
+    protected void detach() {
+        // The hints are always restored after queuing so there is
+        // nothing to give back except the viewport
+        restorer.restoreHints();
+        if( viewPort != null ) {
+            viewPort.removeProcessor(restorer);
+            viewPort = null;
+        }
+        entries.clear();
+        batches.clear();
+    }
+
+    @Override
+    protected void controlRender( RenderManager rm, ViewPort vp ) {
+        // Everything is done at render time because that is when the
+        // world transforms are current.  The batch geometries are not part
+        // of the scene graph so we can still update them and we queue them
+        // ourselves.
+        frame++;
+
+        if( viewPort != vp ) {
+            if( viewPort != null ) {
+                viewPort.removeProcessor(restorer);
+            }
+            viewPort = vp;
+            vp.addProcessor(restorer);
+        }
+        if( !restorer.isInitialized() ) {
+            // The viewport won't run the restorer until next frame and
+            // we can't hide anything until we know its hint will be put back
+            return;
+        }
+
+        Node root = getNode();
+        boolean rootMoved = !sameTransform(lastRootTransform, root.getWorldTransform());
+        if( rootMoved ) {
+            lastRootTransform.set(root.getWorldTransform());
+        }
+
+        collect(root, rootMoved);
+
+        // Remove anything we didn't see this time
+        for( Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry e = it.next();
+            if( e.frame != frame ) {
+                e.batch.remove(e);
+                it.remove();
+            }
+        }
+
+        Bucket bucket = root.getQueueBucket();
+        for( Iterator<Batch> it = batches.values().iterator(); it.hasNext(); ) {
+            Batch batch = it.next();
+            if( batch.entries.isEmpty() ) {
+                it.remove();
+                continue;
+            }
+            batch.update();
+            batch.geom.setQueueBucket(bucket);
+            batch.geom.setLocalTransform(root.getWorldTransform());
+            batch.geom.updateGeometricState();
+            vp.getQueue().addToQueue(batch.geom, bucket);
+        }
+    }
+
+    protected void collect( Spatial s, boolean rootMoved ) {
+        if( s instanceof Node ) {
+            if( s.getCullHint() == CullHint.Always && s != getSpatial() ) {
+                // Hidden... so nothing below it gets batched
+                return;
+            }
+            for( Spatial child : ((Node)s).getChildren() ) {
+                collect(child, rootMoved);
+            }
+        } else if( s instanceof Geometry ) {
+            if( !Boolean.TRUE.equals(s.getUserData(BATCHABLE)) ) {
+                return;
+            }
+            if( s.getLocalCullHint() == CullHint.Always ) {
+                // Hidden by the application so it stays out of the batch
+                return;
+            }
+            Geometry geom = (Geometry)s;
+            Entry e = entries.get(geom);
+            if( e == null ) {
+                if( !isBatchable(geom) ) {
+                    return;
+                }
+                e = new Entry(geom);
+                entries.put(geom, e);
+            }
+            e.frame = frame;
+            e.refresh(rootMoved);
+
+            // Hide the original just until the scene has been queued
+            restorer.hide(e);
+        }
+    }
+
+    protected boolean isBatchable( Geometry geom ) {
+        Mesh mesh = geom.getMesh();
+        if( mesh.getMode() != Mesh.Mode.Triangles ) {
+            return false;
+        }
+        if( mesh.getBuffer(Type.Position) == null || mesh.getBuffer(Type.Index) == null ) {
+            return false;
+        }
+        Material mat = geom.getMaterial();
+        return mat != null && UNSHADED.equals(mat.getMaterialDef().getAssetName());
+    }
+
+    protected Batch getBatch( BatchKey key ) {
+        Batch result = batches.get(key);
+        if( result == null ) {
+            result = new Batch(key);
+            batches.put(key, result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getParam( Material mat, String name ) {
+        MatParam mp = mat.getParam(name);
+        if( mp == null ) {
+            return null;
+        }
+        return (T)mp.getValue();
+    }
+
+    private static boolean sameTransform( Transform t1, Transform t2 ) {
+        return t1.getTranslation().equals(t2.getTranslation())
+                && t1.getRotation().equals(t2.getRotation())
+                && t1.getScale().equals(t2.getScale());
+    }
+
+    private static boolean sameData( float[] data, FloatBuffer fb, int count ) {
+        if( data == null || data.length != count ) {
+            return false;
+        }
+        for( int i = 0; i < count; i++ ) {
+            if( data[i] != fb.get(i) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static float[] copyData( FloatBuffer fb, int count ) {
+        float[] result = new float[count];
+        for( int i = 0; i < count; i++ ) {
+            result[i] = fb.get(i);
+        }
+        return result;
+    }
+
+    /**
+     *  One batched background geometry and the last state we copied
+     *  into its batch.
+     */
+    private class Entry {
+        final Geometry geom;
+        CullHint appCullHint;
+        final Transform transform = new Transform();
+        final ColorRGBA color = new ColorRGBA();
+        Mesh mesh;
+        float[] positions;
+        float[] texCoords;
+        int[] indexes;
+        Batch batch;
+        int frame;
+        int vertexCount;
+        int vertexOffset;
+        float z;
+        boolean dirty = true;
+
+        public Entry( Geometry geom ) {
+            this.geom = geom;
+        }
+
+        public void refresh( boolean rootMoved ) {
+            Material mat = geom.getMaterial();
+            if( batch == null || !batch.key.matches(mat) ) {
+                if( batch != null ) {
+                    batch.remove(this);
+                }
+                batch = getBatch(new BatchKey(mat));
+                batch.add(this);
+                dirty = true;
+            }
+
+            ColorRGBA c = getParam(mat, "Color");
+            if( c == null ) {
+                c = ColorRGBA.White;
+            }
+            if( !color.equals(c) ) {
+                color.set(c);
+                batch.colorsChanged = true;
+                dirty = true;
+            }
+
+            if( rootMoved || !sameTransform(transform, geom.getWorldTransform()) ) {
+                transform.set(geom.getWorldTransform());
+                dirty = true;
+            }
+
+            Mesh m = geom.getMesh();
+            FloatBuffer pos = (FloatBuffer)m.getBuffer(Type.Position).getData();
+            VertexBuffer tcBuffer = m.getBuffer(Type.TexCoord);
+            FloatBuffer tc = tcBuffer == null ? null : (FloatBuffer)tcBuffer.getData();
+            int count = m.getVertexCount();
+            if( m != mesh || !sameData(positions, pos, count * 3)
+                || (tc != null && !sameData(texCoords, tc, count * 2)) ) {
+                if( m != mesh || count != vertexCount ) {
+                    // The index data might be different also
+                    IndexBuffer ib = m.getIndexBuffer();
+                    indexes = new int[ib.size()];
+                    for( int i = 0; i < indexes.length; i++ ) {
+                        indexes[i] = ib.get(i);
+                    }
+                    batch.structureChanged = true;
+                }
+                mesh = m;
+                vertexCount = count;
+                positions = copyData(pos, count * 3);
+                texCoords = tc == null ? new float[count * 2] : copyData(tc, count * 2);
+                batch.texCoordsChanged = true;
+                dirty = true;
+            }
+
+            if( dirty ) {
+                batch.positionsChanged = true;
+                float newZ = transform.getTranslation().z;
+                if( newZ != z ) {
+                    z = newZ;
+                    batch.structureChanged = true;
+                }
+            }
+        }
+
+        public void write( FloatBuffer pos, FloatBuffer tc, FloatBuffer col ) {
+            Node root = getNode();
+            int p = vertexOffset * 3;
+            int t = vertexOffset * 2;
+            int k = vertexOffset * 4;
+            for( int i = 0; i < vertexCount; i++ ) {
+                vTemp.set(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]);
+                transform.transformVector(vTemp, wTemp);
+                root.worldToLocal(wTemp, vTemp);
+                pos.put(p++, vTemp.x).put(p++, vTemp.y).put(p++, vTemp.z);
+                tc.put(t++, texCoords[i * 2]).put(t++, texCoords[i * 2 + 1]);
+                col.put(k++, color.r).put(k++, color.g).put(k++, color.b).put(k++, color.a);
+            }
+            dirty = false;
+        }
+    }
+
+    /**
+     *  One merged mesh for all of the entries that share the
+     *  same material settings.
+     */
+    private class Batch {
+        final BatchKey key;
+        final List<Entry> entries = new ArrayList<Entry>();
+        final Mesh mesh = new Mesh();
+        final Geometry geom;
+        FloatBuffer pos;
+        FloatBuffer tc;
+        FloatBuffer col;
+        boolean structureChanged = true;
+        boolean positionsChanged;
+        boolean texCoordsChanged;
+        boolean colorsChanged;
+
+        public Batch( BatchKey key ) {
+            this.key = key;
+            this.geom = new Geometry("backgroundBatch", mesh);
+            geom.setCullHint(CullHint.Never);
+
+            GuiMaterial material = GuiGlobals.getInstance().createMaterial(false);
+            Material mat = material.getMaterial();
+            mat.setBoolean("VertexColor", true);
+            if( key.texture != null ) {
+                mat.setTexture("ColorMap", key.texture);
+            }
+            RenderState rs = mat.getAdditionalRenderState();
+            rs.setBlendMode(key.blendMode);
+            rs.setFaceCullMode(key.faceCull);
+            rs.setDepthTest(key.depthTest);
+            rs.setDepthWrite(key.depthWrite);
+            if( key.alphaDiscard != null ) {
+                mat.setFloat("AlphaDiscardThreshold", key.alphaDiscard);
+            }
+            geom.setMaterial(mat);
+        }
+
+        public void add( Entry e ) {
+            entries.add(e);
+            structureChanged = true;
+        }
+
+        public void remove( Entry e ) {
+            entries.remove(e);
+            structureChanged = true;
+        }
+
+        public void update() {
+            if( structureChanged ) {
+                rebuild();
+                return;
+            }
+            if( !positionsChanged && !texCoordsChanged && !colorsChanged ) {
+                return;
+            }
+            for( Entry e : entries ) {
+                if( e.dirty ) {
+                    e.write(pos, tc, col);
+                }
+            }
+            if( positionsChanged ) {
+                mesh.getBuffer(Type.Position).setUpdateNeeded();
+                mesh.updateBound();
+            }
+            if( texCoordsChanged ) {
+                mesh.getBuffer(Type.TexCoord).setUpdateNeeded();
+            }
+            if( colorsChanged ) {
+                mesh.getBuffer(Type.Color).setUpdateNeeded();
+            }
+            positionsChanged = texCoordsChanged = colorsChanged = false;
+        }
+
+        protected void rebuild() {
+            // Draw back to front
+            Collections.sort(entries, new Comparator<Entry>() {
+                    public int compare( Entry e1, Entry e2 ) {
+                        return Float.compare(e1.z, e2.z);
+                    }
+                });
+
+            int vertexCount = 0;
+            int indexCount = 0;
+            for( Entry e : entries ) {
+                e.vertexOffset = vertexCount;
+                vertexCount += e.vertexCount;
+                indexCount += e.indexes.length;
+            }
+
+            pos = ensureCapacity(pos, vertexCount * 3);
+            tc = ensureCapacity(tc, vertexCount * 2);
+            col = ensureCapacity(col, vertexCount * 4);
+
+            IndexBuffer ib = IndexBuffer.createIndexBuffer(vertexCount, indexCount);
+            int index = 0;
+            for( Entry e : entries ) {
+                e.write(pos, tc, col);
+                for( int i : e.indexes ) {
+                    ib.put(index++, e.vertexOffset + i);
+                }
+            }
+
+            setBuffer(Type.Position, 3, pos);
+            setBuffer(Type.TexCoord, 2, tc);
+            setBuffer(Type.Color, 4, col);
+
+            // The index format depends on the vertex count
+            mesh.clearBuffer(Type.Index);
+            Buffer indexData = ib.getBuffer();
+            if( indexData instanceof IntBuffer ) {
+                mesh.setBuffer(Type.Index, 3, (IntBuffer)indexData);
+            } else if( indexData instanceof ShortBuffer ) {
+                mesh.setBuffer(Type.Index, 3, (ShortBuffer)indexData);
+            } else {
+                mesh.setBuffer(Type.Index, 3, (ByteBuffer)indexData);
+            }
+            mesh.updateCounts();
+            mesh.updateBound();
+
+            structureChanged = positionsChanged = texCoordsChanged = colorsChanged = false;
+        }
+
+        private FloatBuffer ensureCapacity( FloatBuffer fb, int size ) {
+            // Only reallocate when the size actually changes.  A
+            // rebuild that just reorders things can reuse the buffers.
+            if( fb == null || fb.capacity() != size ) {
+                fb = BufferUtils.createFloatBuffer(size);
+            }
+            return fb;
+        }
+
+        private void setBuffer( Type type, int components, FloatBuffer fb ) {
+            VertexBuffer vb = mesh.getBuffer(type);
+            if( vb == null || vb.getData() != fb ) {
+                mesh.clearBuffer(type);
+                mesh.setBuffer(type, components, fb);
+            } else {
+                vb.setUpdateNeeded();
+            }
+        }
+    }
+
+    /**
+     *  The material settings that a batch's entries must share.
+     */
+    private static class BatchKey {
+        final Texture texture;
+        final BlendMode blendMode;
+        final FaceCullMode faceCull;
+        final boolean depthTest;
+        final boolean depthWrite;
+        final Float alphaDiscard;
+
+        public BatchKey( Material mat ) {
+            RenderState rs = mat.getAdditionalRenderState();
+            this.texture = getParam(mat, "ColorMap");
+            this.blendMode = rs.getBlendMode();
+            this.faceCull = rs.getFaceCullMode();
+            this.depthTest = rs.isDepthTest();
+            this.depthWrite = rs.isDepthWrite();
+            this.alphaDiscard = getParam(mat, "AlphaDiscardThreshold");
+        }
+
+        public boolean matches( Material mat ) {
+            RenderState rs = mat.getAdditionalRenderState();
+            return texture == getParam(mat, "ColorMap")
+                    && blendMode == rs.getBlendMode()
+                    && faceCull == rs.getFaceCullMode()
+                    && depthTest == rs.isDepthTest()
+                    && depthWrite == rs.isDepthWrite()
+                    && Objects.equals(alphaDiscard, getParam(mat, "AlphaDiscardThreshold"));
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( o == null || o.getClass() != getClass() ) {
+                return false;
+            }
+            BatchKey other = (BatchKey)o;
+            return texture == other.texture
+                    && blendMode == other.blendMode
+                    && faceCull == other.faceCull
+                    && depthTest == other.depthTest
+                    && depthWrite == other.depthWrite
+                    && Objects.equals(alphaDiscard, other.alphaDiscard);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(texture), blendMode, faceCull,
+                                depthTest, depthWrite, alphaDiscard);
+        }
+    }
+
+    /**
+     *  Puts the application's cull hints back on the batched geometries
+     *  once the viewport has queued the scene, so that they are only
+     *  hidden while the scene is being queued.
+     */
+    private class HintRestorer implements SceneProcessor {
+        private final List<Entry> hidden = new ArrayList<Entry>();
+        private boolean initialized;
+
+        public void hide( Entry e ) {
+            e.appCullHint = e.geom.getLocalCullHint();
+            e.geom.setCullHint(CullHint.Always);
+            hidden.add(e);
+        }
+
+        public void restoreHints() {
+            for( Entry e : hidden ) {
+                e.geom.setCullHint(e.appCullHint);
+            }
+            hidden.clear();
+        }
+
+        @Override
+        public void initialize( RenderManager rm, ViewPort vp ) {
+            initialized = true;
+        }
+
+        @Override
+        public void reshape( ViewPort vp, int w, int h ) {
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        @Override
+        public void preFrame( float tpf ) {
+        }
+
+        @Override
+        public void postQueue( RenderQueue rq ) {
+            restoreHints();
+        }
+
+        @Override
+        public void postFrame( FrameBuffer out ) {
+            // In case the queue phase was skipped somehow
+            restoreHints();
+        }
+
+        @Override
+        public void cleanup() {
+            restoreHints();
+            initialized = false;
+        }
+    }
+}
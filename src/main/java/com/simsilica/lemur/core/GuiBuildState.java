@@ -0,0 +1,284 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.Command;
+
+/**
+ *  Builds GUI subtrees on background threads and then attaches
+ *  them to the scene on the render thread, a few at a time, within
+ *  a per-frame time budget.  This keeps the construction cost of
+ *  large windows (style application, BitmapText creation, material
+ *  setup, initial layout) from stalling the frames while they are built.
+ *
+ *  <p>The work is split into two phases:</p>
+ *  <ul>
+ *  <li>The build phase runs the caller's Callable on a worker thread.
+ *      It may create any Lemur elements, apply styles, load assets
+ *      through the AssetManager, and set up the GUI elements as long as
+ *      everything it touches is detached from the live scene.  Lemur
+ *      elements would otherwise only be laid out once they are updated
+ *      as part of the live scene so after the Callable returns, any
+ *      GuiControl at the top of the result's branches is also laid out
+ *      at its preferred size on the worker thread.  Elements attached to
+ *      a parent with its own layout will still be resized by that parent
+ *      but their children's layout won't need to be repeated unless the
+ *      new size is different.</li>
+ *  <li>The attach phase runs on the render thread during this state's
+ *      update().  This is where the result is added to the scene and
+ *      where anything that touches the live scene graph, focus, popups,
+ *      or other app states must happen.  Completed builds are attached in
+ *      the order they finished until the frame budget is used up.  At least
+ *      one is attached every frame.</li>
+ *  </ul>
+ *
+ *  <p>The Future returned from build() completes after the attach phase.
+ *  If the build or the attach fails then the Future completes with the
+ *  exception and it is logged.  Canceling the Future before it
+ *  is attached prevents the attach.</p>
+ *
+ *  <p>If no executor is provided then a pool of daemon threads is created
+ *  on first use and shut down when this state is cleaned up.</p>
+ */
+public class GuiBuildState extends BaseAppState {
+
+    static Logger log = LoggerFactory.getLogger(GuiBuildState.class);
+
+    public static final double DEFAULT_FRAME_BUDGET = 0.002;
+
+    private ExecutorService executor;
+    private boolean ownsExecutor;
+    private final ConcurrentLinkedQueue<BuildJob> built = new ConcurrentLinkedQueue<BuildJob>();
+    private long frameBudgetNanos = (long)(DEFAULT_FRAME_BUDGET * 1000000000.0);
+
+    /**
+     *  Creates a build state that will create its own pool of
+     *  worker threads when first needed.
+     */
+    public GuiBuildState() {
+        this(null);
+    }
+
+    /**
+     *  Creates a build state that will run build jobs on the specified
+     *  executor.  The executor is not shut down when this state is
+     *  cleaned up.
+     */
+    public GuiBuildState( ExecutorService executor ) {
+        this.executor = executor;
+    }
+
+    /**
+     *  Sets the maximum amount of time in seconds that will be spent attaching
+     *  built GUI elements each frame.  Defaults to 0.002 (2 ms).
+     */
+    public void setFrameBudget( double seconds ) {
+        this.frameBudgetNanos = (long)(seconds * 1000000000.0);
+    }
+
+    public double getFrameBudget() {
+        return frameBudgetNanos / 1000000000.0;
+    }
+
+    /**
+     *  Returns the number of built GUI elements that are still
+     *  waiting to be attached.
+     */
+    public int getPendingAttachCount() {
+        return built.size();
+    }
+
+    /**
+     *  Runs the specified builder on a worker thread and then attaches
+     *  its result to the specified parent on the render thread.
+     */
+    public <T extends Spatial> Future<T> build( Callable<T> builder, final Node parent ) {
+        return build(builder, new Command<T>() {
+                public void execute( T spatial ) {
+                    parent.attachChild(spatial);
+                }
+            });
+    }
+
+    /**
+     *  Runs the specified builder on a worker thread and then passes its
+     *  result to the specified attach command on the render thread.
+     */
+    public <T> Future<T> build( Callable<T> builder, Command<? super T> attach ) {
+        BuildJob<T> job = new BuildJob<T>(builder, attach);
+        getExecutor().execute(job);
+        return job;
+    }
+
+    protected synchronized ExecutorService getExecutor() {
+        if( executor == null ) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            executor = Executors.newFixedThreadPool(threads, new BuilderThreadFactory());
+            ownsExecutor = true;
+        }
+        return executor;
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected synchronized void cleanup( Application app ) {
+        if( ownsExecutor ) {
+            // Jobs that never got to run would otherwise never complete
+            List<Runnable> unstarted = executor.shutdownNow();
+            for( Runnable r : unstarted ) {
+                if( r instanceof Future ) {
+                    ((Future<?>)r).cancel(false);
+                }
+            }
+            executor = null;
+            ownsExecutor = false;
+        }
+        // Anything left over will never be attached
+        BuildJob job;
+        while( (job = built.poll()) != null ) {
+            job.cancel(false);
+        }
+    }
+
+    @Override
+    protected void onEnable() {
+    }
+
+    @Override
+    public void update( float tpf ) {
+        long start = System.nanoTime();
+        BuildJob job;
+        while( (job = built.poll()) != null ) {
+            job.attach();
+            if( System.nanoTime() - start >= frameBudgetNanos ) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    protected void onDisable() {
+    }
+
+    private class BuildJob<T> extends FutureTask<T> {
+        private final Command<? super T> attach;
+        private T result;
+
+        public BuildJob( Callable<T> builder, Command<? super T> attach ) {
+            super(builder);
+            this.attach = attach;
+        }
+
+        @Override
+        protected void set( T result ) {
+            try {
+                if( result instanceof Spatial ) {
+                    layout((Spatial)result);
+                }
+            } catch( RuntimeException e ) {
+                setException(e);
+                return;
+            }
+            // Hold the result for the attach phase instead of
+            // completing the future now.
+            this.result = result;
+            built.add(this);
+        }
+
+        /**
+         *  Lays out the top-most GuiControls in the specified branch
+         *  the same way that GuiControl would when first updated.
+         */
+        protected void layout( Spatial s ) {
+            GuiControl control = s.getControl(GuiControl.class);
+            if( control != null ) {
+                control.setSize(control.getPreferredSize(new Vector3f()));
+                return;
+            }
+            if( s instanceof Node ) {
+                for( Spatial child : ((Node)s).getChildren() ) {
+                    layout(child);
+                }
+            }
+        }
+
+        @Override
+        protected void setException( Throwable t ) {
+            log.error("Error building or attaching GUI element", t);
+            super.setException(t);
+        }
+
+        protected void attach() {
+            if( isCancelled() ) {
+                return;
+            }
+            try {
+                attach.execute(result);
+            } catch( RuntimeException e ) {
+                setException(e);
+                return;
+            }
+            super.set(result);
+        }
+    }
+
+    private static class BuilderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread( Runnable r ) {
+            Thread result = new Thread(r, "GuiBuilder-" + count.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+        }
+    }
+}
@@ -67,9 +67,33 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
     private SafeArrayList<GuiUpdateListener> updateListeners;
     
     private volatile boolean invalid = false;
+
+    /**
+     *  Set whenever this control or something below it has changed in
+     *  a way that requires the components and layout to be reshaped.
+     *  Cleared when setSize() has been applied.  A clean control that
+     *  is given the same size as last time can skip its whole subtree.
+     */
+    private boolean layoutDirty = true;
+
+    /**
+     *  The last calculated preferred size, valid until the next
+     *  invalidation.
+     */
+    private Vector3f cachedPreferredSize = new Vector3f();
+    private boolean preferredSizeValid = false;
+
+    /**
+     *  The last measurement of each layer in the component stack and
+     *  of the layout.
+     */
+    private Measurement[] measurements = new Measurement[0];
+    private Measurement layoutMeasurement = new Measurement();
         
     private Vector3f preferredSizeOverride = null;
     private Vector3f lastSize = new Vector3f();
+    private Vector3f reshapeSize = new Vector3f();
+    private Vector3f reshapeOffset = new Vector3f();
     private boolean focused = false;
     private boolean focusable = false;
 
@@ -287,38 +311,111 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
     }
 
     public Vector3f getPreferredSize() {
+        return getPreferredSize(new Vector3f());
+    }
+
+    /**
+     *  Copies the preferred size into the specified store vector and
+     *  returns it.  This is the same as getPreferredSize() without
+     *  creating a new vector, mostly for use by layouts that query many
+     *  children.
+     */
+    public Vector3f getPreferredSize( Vector3f store ) {
         if( preferredSizeOverride != null ) {
-            return preferredSizeOverride.clone();
+            return store.set(preferredSizeOverride);
+        }
+        if( !preferredSizeValid || getNode() == null ) {
+            // Components can't notify us of changes until we're attached
+            // so there is nothing to trust the cache with before that.
+            calculatePreferredSize(cachedPreferredSize);
+            preferredSizeValid = true;
         }
+        return store.set(cachedPreferredSize);
+    }
 
-        Vector3f size = new Vector3f();
+    /**
+     *  Returns true if this control has been invalidated since it
+     *  was last reshaped.
+     */
+    public boolean isLayoutDirty() {
+        return layoutDirty;
+    }
+
+    /**
+     *  Calculates the preferred size from the layout and component
+     *  stack into the specified store vector.  getPreferredSize() caches
+     *  the result of this method until the next invalidation.  Each
+     *  layer's last measurement is also remembered so that only layers
+     *  that were invalidated or that are given a different size from the
+     *  layers above them are asked to recalculate.
+     */
+    protected Vector3f calculatePreferredSize( Vector3f store ) {
+        store.set(0, 0, 0);
         if( layout != null ) {
-            layout.calculatePreferredSize(size);
-        }
-        Vector3f lastSize = new Vector3f(size);
-        for( int i = componentStack.size() - 1; i >= 0; i-- ) {
-            componentStack.get(i).calculatePreferredSize(size);
-            if( size.x < lastSize.x || size.y < lastSize.y || size.z < lastSize.z ) {
-                throw new RuntimeException("Component:" + componentStack.get(i) 
-                                + " shrunk the preferred size. Before:" + lastSize 
-                                + " after:" + size); 
+            if( layoutMeasurement.component != layout || !layoutMeasurement.valid ) {
+                layoutMeasurement.component = layout;
+                layout.calculatePreferredSize(store);
+                layoutMeasurement.result.set(store);
+                layoutMeasurement.valid = true;
+            } else {
+                store.set(layoutMeasurement.result);
             }
         }
-        return size;
+        
+        GuiComponent[] array = componentStack.getArray();
+        if( measurements.length != array.length ) {
+            measurements = new Measurement[array.length];
+            for( int i = 0; i < measurements.length; i++ ) {
+                measurements[i] = new Measurement();
+            }
+        }
+        for( int i = array.length - 1; i >= 0; i-- ) {
+            GuiComponent c = array[i];
+            Measurement m = measurements[i];
+            if( m.component == c && m.valid && m.input.equals(store) ) {
+                // Nothing about this layer or the layers above
+                // it has changed
+                store.set(m.result);
+                continue;
+            }
+            m.component = c;
+            m.input.set(store);
+            c.calculatePreferredSize(store);
+            if( store.x < m.input.x || store.y < m.input.y || store.z < m.input.z ) {
+                m.valid = false;
+                throw new RuntimeException("Component:" + c 
+                                + " shrunk the preferred size. Before:" + m.input 
+                                + " after:" + store); 
+            }
+            m.result.set(store);
+            m.valid = true;
+        }
+        return store;
     }
 
     public void setSize( Vector3f size ) {
         if( size.x < 0 || size.y < 0 || size.z < 0 ) {
             throw new IllegalArgumentException("Size cannot be negative:" + size);
-        }            
+        }
+        if( !layoutDirty && lastSize.equals(size) ) {
+            // Nothing in our branch has changed and we've already been
+            // laid out at this size so there is nothing to do.
+            return;
+        }
+        // Cleared before reshaping so that anything invalidated
+        // during reshape is caught on the next pass.
+        layoutDirty = false;
         lastSize.set(size);
         
         // The components will take their parts out of size.
         // The caller may not be expecting their size to change... especially
         // since it might have been the getPreferredSize() of some other GUI element
-        Vector3f stackSize = size.clone();
+        // These are reused between calls so steady state layout doesn't
+        // create garbage.  Components and layouts must not hold onto them
+        // after reshape() returns.
+        Vector3f stackSize = reshapeSize.set(size);
         
-        Vector3f offset = new Vector3f();
+        Vector3f offset = reshapeOffset.set(0, 0, 0);
         for( GuiComponent c : componentStack.getArray() ) {
             c.reshape(offset, stackSize);
             stackSize.x = Math.max(0, stackSize.x);
@@ -330,6 +427,9 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         }
         
         if( listeners != null ) {
+            // Listeners get their own offset since they are free to keep it.
+            offset = new Vector3f(offset);
+
             // Call the listeners with the original size befoe
             // the components took a whack at it.
             for( GuiControlListener l : listeners.getArray() ) {
@@ -377,6 +477,9 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
 
     @Override
     protected void attach() {
+        // Components may have changed while we were detached
+        invalidateMeasurements();
+        layoutDirty = true;
         componentStack.attach(this);
         if( layout != null ) {
             layout.attach(this);
@@ -430,13 +533,68 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         setSize(size);
     }
 
+    /**
+     *  Invalidates this control and all of its component measurements.
+     *  Use invalidateComponent() when it's known which component changed.
+     */
     public void invalidate() {
+        // Whatever changed may affect our preferred size and layout
+        // even if we aren't attached yet.
+        invalidateMeasurements();
+        invalidateBranch();
+    }
+
+    /**
+     *  Invalidates this control because the specified component's own
+     *  sizing inputs have changed.  Only that component's cached
+     *  measurement is discarded.  The other layers will only be
+     *  remeasured if the size they are given changes. 
+     */
+    public void invalidateComponent( GuiComponent c ) {
+        if( c != null && c == layoutMeasurement.component ) {
+            layoutMeasurement.valid = false;
+        } else {
+            boolean found = false;
+            for( Measurement m : measurements ) {
+                if( m.component == c ) {
+                    m.valid = false;
+                    found = true;
+                }
+            }
+            if( !found ) {
+                // Don't know who it is so be safe
+                invalidateMeasurements();
+            }
+        }
+        invalidateBranch();
+    }
+
+    /**
+     *  Called when a child's preferred size may have changed.  Only the
+     *  layout needs to be remeasured for that.
+     */
+    protected void invalidateChild() {
+        layoutMeasurement.valid = false;
+        invalidateBranch();
+    }
+
+    private void invalidateMeasurements() {
+        layoutMeasurement.valid = false;
+        for( Measurement m : measurements ) {
+            m.valid = false;
+        }
+    }
+
+    private void invalidateBranch() {
+        preferredSizeValid = false;
+        layoutDirty = true;
+
         if( getNode() == null )
             return; // not attached yet... no reason to be marked invalid anyway
 
         if( isChild() ) {
             // Our parent controls our layout
-            getNode().getParent().getControl(GuiControl.class).invalidate();
+            getNode().getParent().getControl(GuiControl.class).invalidateChild();
             invalid = false;
         } else {
             invalid = true;
@@ -450,4 +608,14 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         }
         componentStack.detach(this);
     }
+
+    /**
+     *  The last preferred size calculation of one layer.
+     */
+    private static class Measurement {
+        GuiComponent component;
+        Vector3f input = new Vector3f();
+        Vector3f result = new Vector3f();
+        boolean valid;
+    }
 }
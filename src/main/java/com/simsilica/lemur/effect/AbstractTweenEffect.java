@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.effect;
+
+import com.simsilica.lemur.anim.Animation;
+import com.simsilica.lemur.anim.Tween;
+import com.simsilica.lemur.anim.TweenAnimation;
+
+
+/**
+ *  Base class for effects that run a single Tween as a TweenAnimation
+ *  and that can reuse that animation the next time the effect is run on
+ *  the same target.  Subclasses only need to implement createTween().
+ *
+ *  <p>By default a pooled animation is simply rewound and run again.
+ *  This is fine for tweens whose values only depend on the target and the
+ *  effect's own settings.  Subclasses whose tweens capture other state when
+ *  they are created, the target's current color for example, should override
+ *  resetTween() to update that state or return false so that a new tween
+ *  is created.</p>
+ */
+public abstract class AbstractTweenEffect<T> extends AbstractEffect<T> 
+                                             implements ReusableEffect<T> {
+
+    /**
+     *  Creates an effect on the 'null' channel, or undefined channel.
+     *  Effects that are on the 'null' channel are not tracked.
+     */   
+    protected AbstractTweenEffect() {
+    }
+ 
+    /**
+     *  Creates an effect with the specified channel.  Effects that are 
+     *  on the 'null' channel are not tracked.
+     */   
+    protected AbstractTweenEffect( String channel ) {
+        super(channel);
+    }
+
+    /**
+     *  Creates the tween that will be run for the specified target.
+     *  See Effect.create().
+     */
+    protected abstract Tween createTween( T target, EffectInfo existing );
+
+    /**
+     *  Called before a previously created tween is run again for the 
+     *  same target.  Returns true if the tween can be reused or false if
+     *  createTween() should be called instead.  The default implementation
+     *  returns true.
+     */
+    protected boolean resetTween( Tween tween, T target, EffectInfo existing ) {
+        return true;
+    }
+
+    @Override
+    public Animation create( T target, EffectInfo existing ) {
+        return new EffectAnimation(target, createTween(target, existing));
+    }
+
+    @Override
+    public boolean reset( Animation animation, T target, EffectInfo existing ) {
+        if( !(animation instanceof EffectAnimation) ) {
+            return false;
+        }
+        EffectAnimation a = (EffectAnimation)animation;
+        if( a.target != target || !resetTween(a.tween, target, existing) ) {
+            return false;
+        }
+        a.reset();
+        return true;
+    }
+
+    /**
+     *  Remembers the target and tween that a TweenAnimation was
+     *  created for.
+     */
+    private static class EffectAnimation extends TweenAnimation {
+        private final Object target;
+        private final Tween tween;
+
+        public EffectAnimation( Object target, Tween tween ) {
+            super(tween);
+            this.target = target;
+            this.tween = tween;
+        }
+    }
+}
@@ -43,6 +43,8 @@ import com.jme3.scene.control.AbstractControl;
 import com.simsilica.lemur.anim.Animation;
 import com.simsilica.lemur.anim.AnimationState;
 import com.simsilica.lemur.anim.TweenAnimation;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -56,9 +58,16 @@ import java.util.Map;
  */
 public class EffectControl<T extends Spatial> extends AbstractControl {
 
+    /**
+     *  The maximum number of spare animations kept for any one
+     *  ReusableEffect.
+     */
+    public static final int MAX_POOLED_ANIMATIONS = 2;
+
     private AnimationState state;
     private final Map<String, Effect<? super T>> effects = new HashMap<String, Effect<? super T>>();
     private final Map<String, EffectInfo> channels = new HashMap<String, EffectInfo>();
+    private final Map<Effect, Deque<Animation>> pools = new HashMap<Effect, Deque<Animation>>();
  
     /**
      *  Creates an effect control that will use the specified AnimationState
@@ -96,7 +105,10 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
     }
     
     public void addEffect( String name, Effect<? super T> effect ) {
-        effects.put(name, effect);
+        Effect<? super T> old = effects.put(name, effect);
+        if( old != null && old != effect ) {
+            pools.remove(old);
+        }
     }
  
     public boolean hasEffect( String name ) {
@@ -104,7 +116,11 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
     }
  
     public Effect<? super T> removeEffect( String name ) {
-        return effects.remove(name);       
+        Effect<? super T> result = effects.remove(name);
+        if( result != null ) {
+            pools.remove(result);
+        }
+        return result;
     }
  
     public Map<String, Effect<? super T>> getEffects() {
@@ -131,7 +147,7 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
             existing = channels.remove(channel);
         }
         
-        Animation a = e.create(getSpatial(), existing);
+        Animation a = createAnimation(e, existing);
  
         // If we want to fast forward and we are a different effect       
         if( fastForward && existing != null && e != existing.getEffect() ) {
@@ -146,6 +162,10 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
         // If there was an existing channel animation the always cancel it         
         if( existing != null ) {
             anim().cancel(existing.getAnimation());
+            
+            // The existing animation is completely done now so it
+            // can be reused the next time its effect runs
+            releaseAnimation(existing);
         }
  
         EffectInfo result = null;
@@ -166,6 +186,46 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
         return result;
     } 
 
+    /**
+     *  Returns an animation for the specified effect, reusing a pooled
+     *  animation if the effect is a ReusableEffect that accepts it.
+     */
+    @SuppressWarnings("unchecked")
+    protected Animation createAnimation( Effect<? super T> e, EffectInfo existing ) {
+        if( e instanceof ReusableEffect ) {
+            Deque<Animation> pool = pools.get(e);
+            Animation a = pool == null ? null : pool.poll();
+            if( a != null && ((ReusableEffect<? super T>)e).reset(a, getSpatial(), existing) ) {
+                return a;
+            }
+        }
+        return e.create(getSpatial(), existing);
+    }
+ 
+    /**
+     *  Returns the finished or canceled animation of the specified
+     *  effect info to its effect's pool if the effect is a ReusableEffect
+     *  that is still part of this control.  A pooled animation is cleared
+     *  from the info so that nobody holding on to the info can cancel or
+     *  otherwise mess with the animation once it's reused.
+     */
+    protected void releaseAnimation( EffectInfo info ) {
+        Effect e = info.getEffect();
+        Animation a = info.getAnimation();
+        if( a == null || !(e instanceof ReusableEffect) || !effects.containsValue(e) ) {
+            return;
+        }
+        Deque<Animation> pool = pools.get(e);
+        if( pool == null ) {
+            pool = new ArrayDeque<Animation>(MAX_POOLED_ANIMATIONS);
+            pools.put(e, pool);
+        }
+        if( pool.size() < MAX_POOLED_ANIMATIONS ) {
+            info.releaseAnimation();
+            pool.add(a);
+        }
+    }
+
     @Override
     protected void controlUpdate( float tpf ) {
     }
@@ -48,7 +48,7 @@ import com.simsilica.lemur.anim.Animation;
 public class EffectInfo {
     private final String effectName;
     private final Effect effect;
-    private final Animation animation;
+    private volatile Animation animation;
     
     public EffectInfo( String effectName, Effect effect, Animation animation ) {
         this.effectName = effectName;
@@ -64,9 +64,23 @@ public class EffectInfo {
         return effect;
     }
     
+    /**
+     *  Returns the animation that was run for this effect or null if
+     *  the animation has since been handed back to a ReusableEffect to
+     *  be reused by a later run.  That only happens after this effect
+     *  was replaced on its channel.
+     */
     public Animation getAnimation() {
         return animation;
     }
+
+    /**
+     *  Called by the EffectControl when the animation is pooled for reuse
+     *  so that callers still holding this info can't control a later run.
+     */
+    void releaseAnimation() {
+        this.animation = null;
+    }
  
     @Override   
     public String toString() {
@@ -0,0 +1,68 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.effect;
+
+import com.simsilica.lemur.anim.Animation;
+
+
+/**
+ *  An Effect whose animations can be restarted instead of recreated.
+ *  When the EffectControl is done with an animation created by a
+ *  ReusableEffect, because it finished or was replaced on its channel,
+ *  the animation is kept in a small per-effect pool.  The next time the
+ *  effect is run, a pooled animation is passed to reset() before falling
+ *  back to create().
+ *
+ *  <p>This keeps effects that fire constantly, like hover and focus
+ *  effects, from building new animations and tween trees on every run.
+ *  AbstractTweenEffect implements this for effects that run a single
+ *  Tween.</p>
+ *
+ *  <p>Once an animation is pooled, the EffectInfo it was run for no longer
+ *  returns it from getAnimation().</p>
+ */
+public interface ReusableEffect<T> extends Effect<T> {
+
+    /**
+     *  Prepares a finished or canceled animation previously created by
+     *  this effect to run again for the specified target, as if it had
+     *  just been returned from create().  The existing parameter is the same
+     *  as for create().  Returns true if the animation is ready to run or
+     *  false if it should be discarded and create() called instead.
+     */
+    public boolean reset( Animation animation, T target, EffectInfo existing );
+}
@@ -66,6 +66,19 @@ public abstract class AbstractCursorEvent {
         this.y = y;
         this.collision = collision;                              
     }
+
+    /**
+     *  Called by the pick session to reuse this event for another
+     *  delivery.
+     */
+    void reset( ViewPort view, Spatial target, float x, float y, CollisionResult collision ) {
+        this.consumed = false;
+        this.view = view;
+        this.target = target;
+        this.x = x;
+        this.y = y;
+        this.collision = collision;
+    }
     
     public ViewPort getViewPort() {
         return view;
@@ -210,6 +210,55 @@ public abstract class BasePickState extends BaseAppState
         return session.getPickLayerOrder();
     }
 
+    /**
+     *  Turns on or off pick indexing for the collision roots.
+     *  See PickEventSession.setPickIndexEnabled().
+     */
+    public void setPickIndexEnabled( boolean f ) {
+        session.setPickIndexEnabled(f);
+    }
+
+    public boolean isPickIndexEnabled() {
+        return session.isPickIndexEnabled();
+    }
+
+    /**
+     *  Turns on or off the reuse of cursor motion events.
+     *  See PickEventSession.setReuseEvents().
+     */
+    public void setReuseEvents( boolean f ) {
+        session.setReuseEvents(f);
+    }
+
+    public boolean isReuseEvents() {
+        return session.isReuseEvents();
+    }
+
+    /**
+     *  Turns on or off skipping the pick when neither the cursor nor
+     *  the pickable scene has changed since the last frame.
+     *  See PickEventSession.setMotionCoalescing().
+     */
+    public void setMotionCoalescing( boolean f ) {
+        session.setMotionCoalescing(f);
+    }
+
+    public boolean isMotionCoalescing() {
+        return session.isMotionCoalescing();
+    }
+
+    /**
+     *  Turns on or off rectangle hit-testing for Gui bucket elements.
+     *  See PickEventSession.setGuiRectPicking().
+     */
+    public void setGuiRectPicking( boolean f ) {
+        session.setGuiRectPicking(f);
+    }
+
+    public boolean isGuiRectPicking() {
+        return session.isGuiRectPicking();
+    }
+
     @Override
     protected void initialize( Application app ) {
         if( includeDefaultNodes ) {
@@ -67,6 +67,13 @@ public class CursorMotionEvent extends AbstractCursorEvent {
         this.scroll = scroll;
         this.scrollDelta = scrollDelta;
     }
+
+    void reset( ViewPort view, Spatial target, float x, float y, 
+                int scroll, int scrollDelta, CollisionResult collision ) {
+        reset(view, target, x, y, collision);
+        this.scroll = scroll;
+        this.scrollDelta = scrollDelta;
+    }
  
     /**
      *  Returns the full value of the 'scroll wheel' or scroll control at the time
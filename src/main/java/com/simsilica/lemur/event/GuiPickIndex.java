@@ -0,0 +1,183 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import com.jme3.math.Ray;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  A PickIndex for Gui bucket roots that buckets the pick targets
+ *  into a sparse 2D grid of screen-space cells.  Gui bucket pick rays
+ *  always point straight into the screen so only the cell under the
+ *  ray origin needs to be checked.
+ */
+public class GuiPickIndex extends PickIndex {
+
+    public static final float DEFAULT_CELL_SIZE = 64;
+
+    /**
+     *  Targets that would cover more than this many cells, or that have
+     *  unbounded extents, are kept in a separate list that is checked
+     *  for every query instead of being added to each cell.
+     */
+    public static final int MAX_ENTRY_CELLS = 256;
+
+    private final float cellSize;
+    private final Map<Long, List<Entry>> cells = new HashMap<Long, List<Entry>>();
+    private final List<Entry> oversized = new ArrayList<Entry>();
+
+    public GuiPickIndex( Spatial root ) {
+        this(root, DEFAULT_CELL_SIZE);
+    }
+
+    public GuiPickIndex( Spatial root, float cellSize ) {
+        super(root);
+        if( cellSize <= 0 ) {
+            throw new IllegalArgumentException("Cell size must be positive:" + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    protected final int cell( float f ) {
+        return (int)Math.floor(f / cellSize);
+    }
+
+    protected final long cellKey( int x, int y ) {
+        return ((long)x << 32) | (y & 0xffffffffL);
+    }
+
+    @Override
+    public void findCandidates( Ray ray, Collection<Spatial> candidates ) {
+        float x = ray.getOrigin().x;
+        float y = ray.getOrigin().y;
+        addCandidates(oversized, x, y, candidates);
+        List<Entry> list = cells.get(cellKey(cell(x), cell(y)));
+        if( list != null ) {
+            addCandidates(list, x, y, candidates);
+        }
+    }
+
+    private static void addCandidates( List<Entry> list, float x, float y,
+                                       Collection<Spatial> candidates ) {
+        for( int i = 0; i < list.size(); i++ ) {
+            Entry e = list.get(i);
+            if( x >= e.minX && x <= e.maxX && y >= e.minY && y <= e.maxY ) {
+                candidates.add(e.spatial);
+            }
+        }
+    }
+
+    /**
+     *  Returns true if the entry's bounds are too large or not finite
+     *  enough to be stored in individual cells.  This is checked in
+     *  double precision so that huge bounds can't overflow the cell math.
+     */
+    protected boolean isOversized( Entry e ) {
+        double width = Math.floor(e.maxX / cellSize) - Math.floor(e.minX / cellSize) + 1;
+        double height = Math.floor(e.maxY / cellSize) - Math.floor(e.minY / cellSize) + 1;
+        double count = width * height;
+        // Written so that NaN is also oversized
+        return !(count <= MAX_ENTRY_CELLS);
+    }
+
+    @Override
+    protected void entryAdded( Entry e ) {
+        e.oversized = isOversized(e);
+        if( e.oversized ) {
+            oversized.add(e);
+            return;
+        }
+        e.cellMinX = cell(e.minX);
+        e.cellMinY = cell(e.minY);
+        e.cellMaxX = cell(e.maxX);
+        e.cellMaxY = cell(e.maxY);
+        for( int x = e.cellMinX; x <= e.cellMaxX; x++ ) {
+            for( int y = e.cellMinY; y <= e.cellMaxY; y++ ) {
+                Long key = cellKey(x, y);
+                List<Entry> list = cells.get(key);
+                if( list == null ) {
+                    list = new ArrayList<Entry>();
+                    cells.put(key, list);
+                }
+                list.add(e);
+            }
+        }
+    }
+
+    @Override
+    protected void entryMoved( Entry e ) {
+        if( e.oversized && isOversized(e) ) {
+            // Still not in any cells
+            return;
+        }
+        if( !e.oversized && e.cellMinX == cell(e.minX) && e.cellMinY == cell(e.minY)
+            && e.cellMaxX == cell(e.maxX) && e.cellMaxY == cell(e.maxY) ) {
+            // Still in the same cells
+            return;
+        }
+        entryRemoved(e);
+        entryAdded(e);
+    }
+
+    @Override
+    protected void entryRemoved( Entry e ) {
+        if( e.oversized ) {
+            oversized.remove(e);
+            return;
+        }
+        for( int x = e.cellMinX; x <= e.cellMaxX; x++ ) {
+            for( int y = e.cellMinY; y <= e.cellMaxY; y++ ) {
+                Long key = cellKey(x, y);
+                List<Entry> list = cells.get(key);
+                if( list == null ) {
+                    continue;
+                }
+                list.remove(e);
+                if( list.isEmpty() ) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+}
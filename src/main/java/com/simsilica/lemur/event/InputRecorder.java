@@ -0,0 +1,251 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.io.*;
+
+import org.slf4j.*;
+
+import com.jme3.input.InputManager;
+import com.jme3.input.RawInputListener;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
+
+
+/**
+ *  Records the raw input events seen by the InputManager, along with
+ *  the input frame and time at which they arrived, to a compact binary
+ *  stream that can be played back later with InputReplay.
+ *
+ *  <p>Raw input listeners are called in the order they were added and
+ *  consumed events are not passed on to later listeners.  To capture
+ *  everything that MouseAppState, TouchAppState, KeyInterceptState, and
+ *  InputMapper see, the recorder should be created before
+ *  GuiGlobals.initialize().</p>
+ *
+ *  <p>If writing fails then the error is logged and recording stops.
+ *  The recorder must be closed to finish the stream.</p>
+ */
+public class InputRecorder implements RawInputListener, Closeable {
+
+    static Logger log = LoggerFactory.getLogger(InputRecorder.class);
+
+    private final InputManager inputManager;
+    private DataOutputStream out;
+    private long frame;
+    private long lastFrame;
+    private long startTime;
+    private long lastTime;
+    private int eventCount;
+
+    public InputRecorder( InputManager inputManager, OutputStream out ) throws IOException {
+        this.inputManager = inputManager;
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(InputRecording.MAGIC);
+        this.out.writeByte(InputRecording.VERSION);
+        this.startTime = System.nanoTime();
+        this.lastTime = startTime;
+        inputManager.addRawInputListener(this);
+    }
+
+    public InputRecorder( InputManager inputManager, File file ) throws IOException {
+        this(inputManager, new FileOutputStream(file));
+    }
+
+    public boolean isRecording() {
+        return out != null;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     *  Stops recording and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        inputManager.removeRawInputListener(this);
+        if( out == null ) {
+            return;
+        }
+        try {
+            out.writeByte(InputRecording.END);
+        } finally {
+            out.close();
+            out = null;
+        }
+    }
+
+    @Override
+    public void beginInput() {
+        frame++;
+    }
+
+    @Override
+    public void endInput() {
+    }
+
+    /**
+     *  Writes the common event prefix and returns the stream to write
+     *  the rest of the event to.
+     */
+    protected DataOutputStream startEvent( int type ) throws IOException {
+        long time = System.nanoTime();
+        out.writeByte(type);
+        InputRecording.writeVarLong(out, frame - lastFrame);
+        InputRecording.writeVarLong(out, Math.max(0, time - lastTime));
+        lastFrame = frame;
+        lastTime = time;
+        eventCount++;
+        return out;
+    }
+
+    protected void writeFailed( IOException e ) {
+        log.error("Error writing input recording, stopping", e);
+        inputManager.removeRawInputListener(this);
+        try {
+            out.close();
+        } catch( IOException e2 ) {
+            log.warn("Error closing input recording", e2);
+        }
+        out = null;
+    }
+
+    @Override
+    public void onMouseMotionEvent( MouseMotionEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.MOUSE_MOTION);
+            InputRecording.writeVarInt(dos, evt.getX());
+            InputRecording.writeVarInt(dos, evt.getY());
+            InputRecording.writeVarInt(dos, evt.getDX());
+            InputRecording.writeVarInt(dos, evt.getDY());
+            InputRecording.writeVarInt(dos, evt.getWheel());
+            InputRecording.writeVarInt(dos, evt.getDeltaWheel());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+
+    @Override
+    public void onMouseButtonEvent( MouseButtonEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.MOUSE_BUTTON);
+            InputRecording.writeVarInt(dos, evt.getButtonIndex());
+            dos.writeBoolean(evt.isPressed());
+            InputRecording.writeVarInt(dos, evt.getX());
+            InputRecording.writeVarInt(dos, evt.getY());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+
+    @Override
+    public void onKeyEvent( KeyInputEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.KEY);
+            InputRecording.writeVarInt(dos, evt.getKeyCode());
+            dos.writeChar(evt.getKeyChar());
+            dos.writeBoolean(evt.isPressed());
+            dos.writeBoolean(evt.isRepeating());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+
+    @Override
+    public void onTouchEvent( TouchEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.TOUCH);
+            dos.writeByte(evt.getType().ordinal());
+            InputRecording.writeVarInt(dos, evt.getPointerId());
+            dos.writeFloat(evt.getX());
+            dos.writeFloat(evt.getY());
+            dos.writeFloat(evt.getDeltaX());
+            dos.writeFloat(evt.getDeltaY());
+            dos.writeFloat(evt.getPressure());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+
+    @Override
+    public void onJoyAxisEvent( JoyAxisEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.JOY_AXIS);
+            InputRecording.writeVarInt(dos, evt.getJoyIndex());
+            InputRecording.writeVarInt(dos, evt.getAxis().getAxisId());
+            dos.writeFloat(evt.getValue());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+
+    @Override
+    public void onJoyButtonEvent( JoyButtonEvent evt ) {
+        if( out == null ) {
+            return;
+        }
+        try {
+            DataOutputStream dos = startEvent(InputRecording.JOY_BUTTON);
+            InputRecording.writeVarInt(dos, evt.getJoyIndex());
+            InputRecording.writeVarInt(dos, evt.getButton().getButtonId());
+            dos.writeBoolean(evt.isPressed());
+        } catch( IOException e ) {
+            writeFailed(e);
+        }
+    }
+}
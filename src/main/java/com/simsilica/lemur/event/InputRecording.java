@@ -0,0 +1,98 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.io.*;
+
+
+/**
+ *  Constants and encoding helpers shared by InputRecorder and
+ *  InputReplay.
+ *
+ *  <p>A recording is a header followed by a sequence of events and an
+ *  END marker.  Each event is a type byte, the number of input frames
+ *  since the previous event, the nanoseconds since the previous event,
+ *  and then the type-specific values.  Frame and time deltas and most
+ *  integer values are written as variable length ints so that typical
+ *  mouse motion costs only a handful of bytes.</p>
+ */
+class InputRecording {
+
+    public static final int MAGIC = 0x4C494E50; // "LINP"
+    public static final int VERSION = 1;
+
+    public static final int END = 0;
+    public static final int MOUSE_MOTION = 1;
+    public static final int MOUSE_BUTTON = 2;
+    public static final int KEY = 3;
+    public static final int TOUCH = 4;
+    public static final int JOY_AXIS = 5;
+    public static final int JOY_BUTTON = 6;
+
+    public static void writeVarLong( DataOutput out, long value ) throws IOException {
+        while( (value & ~0x7fL) != 0 ) {
+            out.writeByte((int)((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int)value);
+    }
+
+    public static long readVarLong( DataInput in ) throws IOException {
+        long result = 0;
+        for( int shift = 0; shift < 64; shift += 7 ) {
+            int b = in.readUnsignedByte();
+            result |= (long)(b & 0x7f) << shift;
+            if( (b & 0x80) == 0 ) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed variable length value");
+    }
+
+    /**
+     *  Writes a signed int using zig-zag encoding so that small negative
+     *  values, like most mouse deltas, are also small.
+     */
+    public static void writeVarInt( DataOutput out, int value ) throws IOException {
+        writeVarLong(out, ((value << 1) ^ (value >> 31)) & 0xffffffffL);
+    }
+
+    public static int readVarInt( DataInput in ) throws IOException {
+        int value = (int)readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.io.*;
+
+import org.slf4j.*;
+
+import com.jme3.cursors.plugins.JmeCursor;
+import com.jme3.input.InputManager;
+import com.jme3.input.Joystick;
+import com.jme3.input.JoystickAxis;
+import com.jme3.input.JoystickButton;
+import com.jme3.input.KeyInput;
+import com.jme3.input.MouseInput;
+import com.jme3.input.RawInputListener;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
+
+
+/**
+ *  Plays back a stream written by InputRecorder through an InputManager
+ *  so that the recorded events go through the same raw listeners and
+ *  mappings as live input.
+ *
+ *  <p>The InputManager only accepts events from its input devices during
+ *  its own update so the replay provides its own mouse and keyboard
+ *  devices.  A headless application can use them by replacing its
+ *  InputManager before anything else registers with it:</p>
+ *  <pre>
+ *  public void simpleInitApp() {
+ *      inputManager = replay.createInputManager();
+ *      GuiGlobals.initialize(this);
+ *      ...
+ *  }
+ *  </pre>
+ *
+ *  <p>By default, events are played back one recorded input frame per
+ *  update, as fast as the application runs, which makes replays
+ *  deterministic from frame to frame.  In real time mode, events are
+ *  instead played back when their recorded time has elapsed.</p>
+ *
+ *  <p>Joystick events are only played back if the InputManager has a
+ *  joystick with the recorded ID.  Replay devices do not provide any
+ *  joysticks.</p>
+ */
+public class InputReplay implements Closeable {
+
+    static Logger log = LoggerFactory.getLogger(InputReplay.class);
+
+    private DataInputStream in;
+    private final ReplayKeyInput keyInput = new ReplayKeyInput();
+    private final ReplayMouseInput mouseInput = new ReplayMouseInput();
+    private RawInputListener listener;
+    private boolean realTime;
+
+    private boolean started;
+    private long startTime;
+    private long frame;
+
+    // The prefix of the next event in the stream
+    private int nextType = -1;
+    private long nextFrame;
+    private long nextTime;
+
+    private int eventCount;
+    private int skipCount;
+
+    public InputReplay( InputStream in ) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if( this.in.readInt() != InputRecording.MAGIC ) {
+            throw new IOException("Stream is not an input recording");
+        }
+        int version = this.in.readUnsignedByte();
+        if( version != InputRecording.VERSION ) {
+            throw new IOException("Unsupported input recording version:" + version);
+        }
+        readNext();
+    }
+
+    public InputReplay( File file ) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    /**
+     *  Creates an InputManager that gets all of its input from this replay.
+     */
+    public InputManager createInputManager() {
+        return new InputManager(mouseInput, keyInput, null, null);
+    }
+
+    public MouseInput getMouseInput() {
+        return mouseInput;
+    }
+
+    public KeyInput getKeyInput() {
+        return keyInput;
+    }
+
+    /**
+     *  Set to true to play events back at the rate they were recorded
+     *  instead of one recorded frame per update.  Defaults to false.
+     */
+    public void setRealTime( boolean f ) {
+        this.realTime = f;
+    }
+
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    /**
+     *  Returns true when all of the events have been played back.
+     */
+    public boolean isFinished() {
+        return nextType == InputRecording.END;
+    }
+
+    /**
+     *  Returns the number of events that have been played back so far.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     *  Returns the number of joystick events that were skipped because
+     *  there was no matching joystick.
+     */
+    public int getSkippedCount() {
+        return skipCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        nextType = InputRecording.END;
+        if( in != null ) {
+            in.close();
+            in = null;
+        }
+    }
+
+    private void readNext() throws IOException {
+        nextType = in.readUnsignedByte();
+        if( nextType == InputRecording.END ) {
+            return;
+        }
+        nextFrame += InputRecording.readVarLong(in);
+        nextTime += InputRecording.readVarLong(in);
+    }
+
+    /**
+     *  Called once per InputManager update to push any events that are
+     *  due.
+     */
+    protected void pump() {
+        if( listener == null || isFinished() ) {
+            return;
+        }
+        long now = System.nanoTime();
+        if( !started ) {
+            started = true;
+            startTime = now;
+        }
+        frame++;
+        try {
+            while( !isFinished() ) {
+                if( realTime ? nextTime > now - startTime : nextFrame > frame ) {
+                    break;
+                }
+                dispatch(nextType, now);
+                eventCount++;
+                readNext();
+            }
+        } catch( IOException e ) {
+            log.error("Error reading input recording, stopping replay", e);
+            nextType = InputRecording.END;
+        }
+        if( isFinished() ) {
+            log.info("Replay finished, events:" + eventCount + " skipped:" + skipCount);
+        }
+    }
+
+    protected void dispatch( int type, long time ) throws IOException {
+        switch( type ) {
+            case InputRecording.MOUSE_MOTION:
+                MouseMotionEvent motion = new MouseMotionEvent(InputRecording.readVarInt(in),
+                                                               InputRecording.readVarInt(in),
+                                                               InputRecording.readVarInt(in),
+                                                               InputRecording.readVarInt(in),
+                                                               InputRecording.readVarInt(in),
+                                                               InputRecording.readVarInt(in));
+                motion.setTime(time);
+                listener.onMouseMotionEvent(motion);
+                break;
+            case InputRecording.MOUSE_BUTTON:
+                int button = InputRecording.readVarInt(in);
+                boolean pressed = in.readBoolean();
+                MouseButtonEvent click = new MouseButtonEvent(button, pressed,
+                                                              InputRecording.readVarInt(in),
+                                                              InputRecording.readVarInt(in));
+                click.setTime(time);
+                listener.onMouseButtonEvent(click);
+                break;
+            case InputRecording.KEY:
+                int code = InputRecording.readVarInt(in);
+                char c = in.readChar();
+                boolean down = in.readBoolean();
+                boolean repeating = in.readBoolean();
+                KeyInputEvent key = new KeyInputEvent(code, c, down, repeating);
+                key.setTime(time);
+                listener.onKeyEvent(key);
+                break;
+            case InputRecording.TOUCH:
+                TouchEvent.Type touchType = TouchEvent.Type.values()[in.readUnsignedByte()];
+                int pointerId = InputRecording.readVarInt(in);
+                TouchEvent touch = new TouchEvent(touchType, in.readFloat(), in.readFloat(),
+                                                  in.readFloat(), in.readFloat());
+                touch.setPointerId(pointerId);
+                touch.setPressure(in.readFloat());
+                touch.setTime(time);
+                listener.onTouchEvent(touch);
+                break;
+            case InputRecording.JOY_AXIS:
+                JoystickAxis axis = findAxis(InputRecording.readVarInt(in), InputRecording.readVarInt(in));
+                float value = in.readFloat();
+                if( axis == null ) {
+                    skipCount++;
+                    break;
+                }
+                JoyAxisEvent axisEvent = new JoyAxisEvent(axis, value);
+                axisEvent.setTime(time);
+                listener.onJoyAxisEvent(axisEvent);
+                break;
+            case InputRecording.JOY_BUTTON:
+                JoystickButton joyButton = findButton(InputRecording.readVarInt(in), InputRecording.readVarInt(in));
+                boolean joyPressed = in.readBoolean();
+                if( joyButton == null ) {
+                    skipCount++;
+                    break;
+                }
+                JoyButtonEvent buttonEvent = new JoyButtonEvent(joyButton, joyPressed);
+                buttonEvent.setTime(time);
+                listener.onJoyButtonEvent(buttonEvent);
+                break;
+            default:
+                throw new IOException("Unknown event type:" + type);
+        }
+    }
+
+    protected Joystick findJoystick( int joyId ) {
+        if( !(listener instanceof InputManager) ) {
+            return null;
+        }
+        Joystick[] joysticks = ((InputManager)listener).getJoysticks();
+        if( joysticks == null ) {
+            return null;
+        }
+        for( Joystick j : joysticks ) {
+            if( j.getJoyId() == joyId ) {
+                return j;
+            }
+        }
+        return null;
+    }
+
+    protected JoystickAxis findAxis( int joyId, int axisId ) {
+        Joystick j = findJoystick(joyId);
+        if( j == null ) {
+            return null;
+        }
+        for( JoystickAxis axis : j.getAxes() ) {
+            if( axis.getAxisId() == axisId ) {
+                return axis;
+            }
+        }
+        return null;
+    }
+
+    protected JoystickButton findButton( int joyId, int buttonId ) {
+        Joystick j = findJoystick(joyId);
+        if( j == null ) {
+            return null;
+        }
+        for( JoystickButton button : j.getButtons() ) {
+            if( button.getButtonId() == buttonId ) {
+                return button;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Base input device for the replay.  The InputManager updates the
+     *  keyboard first so it is the device that pushes all of the events.
+     */
+    private abstract class ReplayInput {
+        private boolean initialized;
+
+        public void initialize() {
+            initialized = true;
+        }
+
+        public void destroy() {
+            initialized = false;
+        }
+
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        public void setInputListener( RawInputListener listener ) {
+            InputReplay.this.listener = listener;
+        }
+
+        public long getInputTimeNanos() {
+            return System.nanoTime();
+        }
+    }
+
+    private class ReplayKeyInput extends ReplayInput implements KeyInput {
+        @Override
+        public void update() {
+            pump();
+        }
+
+        public String getKeyName( int key ) {
+            return "Key " + key;
+        }
+    }
+
+    private class ReplayMouseInput extends ReplayInput implements MouseInput {
+        @Override
+        public void update() {
+        }
+
+        @Override
+        public void setCursorVisible( boolean visible ) {
+        }
+
+        @Override
+        public int getButtonCount() {
+            return 3;
+        }
+
+        @Override
+        public void setNativeCursor( JmeCursor cursor ) {
+        }
+    }
+}
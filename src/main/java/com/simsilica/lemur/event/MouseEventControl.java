@@ -57,6 +57,16 @@ public class MouseEventControl extends AbstractControl {
 
     private List<MouseListener> listeners = new CopyOnWriteArrayList<MouseListener>();
 
+    /**
+     *  The spatial we last registered as a pick target.
+     */
+    private Spatial registered;
+
+    /**
+     *  True while a pick index holds our spatial.
+     */
+    private volatile boolean indexed;
+
     public MouseEventControl() {
     }
 
@@ -141,12 +151,54 @@ public class MouseEventControl extends AbstractControl {
         }
     }
 
+    @Override
+    public void setSpatial( Spatial s ) {
+        Spatial old = getSpatial();
+        super.setSpatial(s);
+        if( old != null && old != s ) {
+            PickTargets.remove(old);
+        }
+        registerTarget();
+    }
+
+    /**
+     *  Makes sure our spatial is known to the pick indexes.  This
+     *  is also checked during update because cloned controls get their
+     *  spatial without going through setSpatial().
+     */
+    private void registerTarget() {
+        Spatial s = getSpatial();
+        if( s != registered ) {
+            registered = s;
+            PickTargets.add(s);
+        }
+    }
+
+    @Override
+    public void setEnabled( boolean enabled ) {
+        boolean changed = isEnabled() != enabled;
+        super.setEnabled(enabled);
+        if( changed ) {
+            PickTargets.changed(getSpatial());
+        }
+    }
+
+    void setIndexed( boolean indexed ) {
+        this.indexed = indexed;
+    }
+
     @Override
     protected void controlRender( RenderManager rm, ViewPort vp ) {
     }
 
     @Override
     protected void controlUpdate( float tpf ) {
+        registerTarget();
+        if( !indexed && PickTargets.isIndexing() ) {
+            // We may have been attached under an indexed root
+            // since the indexes last looked at us.
+            PickTargets.updated(getSpatial());
+        }
     }
 }
 
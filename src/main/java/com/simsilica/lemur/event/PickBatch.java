@@ -0,0 +1,239 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector2f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.core.GuiControl;
+
+
+/**
+ *  Collects the cursor positions of several PickEventSessions that
+ *  share collision roots and picks all of them with a single traversal
+ *  of each root before delivering the results to each session's regular
+ *  cursorMoved() processing.  This is useful for multitouch where every
+ *  finger has its own cloned session and would otherwise walk the whole
+ *  scene separately.
+ *
+ *  <p>During the traversal, a branch is skipped as soon as its world bounds
+ *  miss every remaining ray.  Sessions that have their PickIndex enabled
+ *  and roots that are not Spatials are picked normally.</p>
+ *
+ *  <p>Note: all of the picking happens before any of the events are
+ *  delivered so a listener that moves things in response to one pointer
+ *  will not affect what the other pointers pick in the same batch.</p>
+ *
+ *  <p>A PickBatch can be reused from frame to frame and is not thread safe.</p>
+ */
+public class PickBatch {
+
+    private final List<Pointer> pointers = new ArrayList<Pointer>();
+    private int size;
+
+    private final List<PickEventSession.RootEntry> roots = new ArrayList<PickEventSession.RootEntry>();
+    private Pointer[] active = new Pointer[0];
+    private int activeCount;
+
+    public PickBatch() {
+    }
+
+    /**
+     *  Adds a session and its cursor position to this batch.  Each
+     *  session should only be added once per dispatch().
+     */
+    public void add( PickEventSession session, int x, int y ) {
+        Pointer p;
+        if( size < pointers.size() ) {
+            p = pointers.get(size);
+        } else {
+            p = new Pointer();
+            pointers.add(p);
+        }
+        size++;
+        p.session = session;
+        p.x = x;
+        p.y = y;
+        p.cursor.set(x, y);
+        p.used = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     *  Picks every root for all of the added sessions and then calls
+     *  cursorMoved() on each session in the order they were added.
+     *  The batch is empty again when this returns.
+     */
+    public void dispatch() {
+        try {
+            if( size > 1 ) {
+                pick();
+            }
+            for( int i = 0; i < size; i++ ) {
+                Pointer p = pointers.get(i);
+                p.session.cursorMoved(p.x, p.y);
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     *  Removes all sessions from this batch without delivering anything.
+     */
+    public void clear() {
+        for( int i = 0; i < size; i++ ) {
+            Pointer p = pointers.get(i);
+            p.session.clearBatchResults();
+            p.session = null;
+            p.current = null;
+            for( int j = 0; j < p.used; j++ ) {
+                p.results.get(j).clear();
+            }
+            p.used = 0;
+        }
+        size = 0;
+        roots.clear();
+        Arrays.fill(active, null);
+    }
+
+    protected void pick() {
+        // Gather the distinct roots across all of the sessions
+        for( int i = 0; i < size; i++ ) {
+            PickEventSession session = pointers.get(i).session;
+            if( session.isPickIndexEnabled() ) {
+                // The index already makes each pick cheap
+                continue;
+            }
+            for( PickEventSession.RootEntry e : session.getRootList().getArray() ) {
+                if( e.root instanceof Spatial && !roots.contains(e) ) {
+                    roots.add(e);
+                }
+            }
+        }
+
+        if( active.length < size ) {
+            active = new Pointer[size];
+        }
+        for( PickEventSession.RootEntry e : roots ) {
+            activeCount = 0;
+            for( int i = 0; i < size; i++ ) {
+                Pointer p = pointers.get(i);
+                if( p.session.isPickIndexEnabled() || !p.session.hasRoot(e) ) {
+                    continue;
+                }
+                if( p.session.getPickRay(e, p.cursor, p.ray) == null ) {
+                    continue;
+                }
+                p.current = p.nextResults();
+                p.session.setBatchResults(e, p.current);
+                active[activeCount++] = p;
+            }
+
+            // Walk the root for up to 64 pointers at a time
+            Spatial root = (Spatial)e.root;
+            Node owner = PickEventSession.findGuiOwner(root);
+            for( int base = 0; base < activeCount; base += 64 ) {
+                int count = Math.min(64, activeCount - base);
+                long mask = count == 64 ? -1L : (1L << count) - 1;
+                collide(root, owner, base, mask);
+            }
+        }
+    }
+
+    private void collide( Spatial s, Node owner, int base, long mask ) {
+        BoundingVolume bv = s.getWorldBound();
+        if( bv != null ) {
+            for( long bits = mask; bits != 0; bits &= bits - 1 ) {
+                int i = Long.numberOfTrailingZeros(bits);
+                if( !bv.intersects(active[base + i].ray) ) {
+                    mask &= ~(1L << i);
+                }
+            }
+            if( mask == 0 ) {
+                return;
+            }
+        }
+
+        if( s instanceof Node ) {
+            Node node = (Node)s;
+            if( node.getControl(GuiControl.class) != null ) {
+                owner = node;
+            }
+            List<Spatial> children = node.getChildren();
+            for( int i = 0; i < children.size(); i++ ) {
+                collide(children.get(i), owner, base, mask);
+            }
+        } else if( s instanceof Geometry ) {
+            Geometry geom = (Geometry)s;
+            for( long bits = mask; bits != 0; bits &= bits - 1 ) {
+                Pointer p = active[base + Long.numberOfTrailingZeros(bits)];
+                p.session.collideGeometry(geom, owner, p.ray, p.current);
+            }
+        }
+    }
+
+    private static class Pointer {
+        PickEventSession session;
+        int x;
+        int y;
+        final Vector2f cursor = new Vector2f();
+        final Ray ray = new Ray();
+
+        // One set of results per root that was picked
+        final List<CollisionResults> results = new ArrayList<CollisionResults>();
+        int used;
+        CollisionResults current;
+
+        CollisionResults nextResults() {
+            if( used == results.size() ) {
+                results.add(new CollisionResults());
+            }
+            return results.get(used++);
+        }
+    }
+}
@@ -34,6 +34,7 @@
 
 package com.simsilica.lemur.event;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 import org.slf4j.*;
@@ -46,6 +47,8 @@ import com.jme3.collision.CollisionResult;
 import com.jme3.collision.CollisionResults;
 import com.jme3.input.event.MouseButtonEvent;
 import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Quaternion;
 import com.jme3.math.Ray;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
@@ -53,9 +56,13 @@ import com.jme3.renderer.Camera;
 import com.jme3.renderer.ViewPort;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
 import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.util.SafeArrayList;
 
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.geom.DMesh;
+
 /**
  *  Encapsulates the state necessary to deliver events to targets,
  *  track capture, track enter/exit, etc. devoid of specific mouse
@@ -85,7 +92,14 @@ public class PickEventSession {
 
     private Map<Collidable, RootEntry> roots = new LinkedHashMap<Collidable, RootEntry>();
     private SafeArrayList<RootEntry> rootList = new SafeArrayList<RootEntry>(RootEntry.class);
-    private Map<Camera, Ray> rayCache = new HashMap<Camera, Ray>();
+
+    /**
+     *  The pick rays for each camera.  The rays are reused from one
+     *  cursorMoved() to the next and are only recalculated once per
+     *  pick.
+     */
+    private Map<Camera, CachedRay> rayCache = new HashMap<Camera, CachedRay>();
+    private int rayStamp;
 
     /**
      *  The order that the root entries annoted with layer markers
@@ -105,11 +119,13 @@ public class PickEventSession {
     private Spatial capture;
 
     /**
-     *  The set of spatials that recieve an event.  Used during frame
-     *  processing and kept at this level to avoid recreating every
-     *  event frame.
+     *  The event controls of the spatials that have received events,
+     *  looked up once and kept until some pick target's controls change.
+     *  Each record also tracks the last cursorMoved() it was delivered
+     *  to so that the spatial only gets one event per call.
      */
-    private Set<Spatial> delivered = new HashSet<Spatial>();
+    private Map<Spatial, DispatchRecord> dispatchRecords = new WeakHashMap<Spatial, DispatchRecord>();
+    private int deliveryStamp;
 
     /**
      *  An instance-based debug value that will turn on logging for a particular
@@ -121,6 +137,61 @@ public class PickEventSession {
      *  Tracks the last scroll value so we can pass a proper delta in the events.
      */
     private int lastScroll = 0;
+
+    /**
+     *  True if collision roots should use a PickIndex to find the
+     *  pick targets to collide with instead of colliding with the
+     *  whole root.
+     */
+    private boolean pickIndexEnabled;
+    private List<Spatial> pickCandidates = new ArrayList<Spatial>();
+    private Set<Spatial> pickCandidateSet = new HashSet<Spatial>();
+
+    /**
+     *  True if a single CursorMotionEvent should be reused for all
+     *  cursor motion delivery.
+     */
+    private boolean reuseEvents;
+    private CursorMotionEvent motionEvent;
+
+    /**
+     *  Working state for cursorMoved() that is reused from one call to
+     *  the next.  If cursorMoved() is called again from inside of a
+     *  listener then the nested call creates its own.
+     */
+    private boolean dispatching;
+    private final Vector2f cursorTemp = new Vector2f();
+    private final CollisionResults collisionTemp = new CollisionResults();
+    private final float[] zBounds = new float[2];
+    private final Vector3f nearTemp = new Vector3f();
+    private final Vector3f farTemp = new Vector3f();
+
+    /**
+     *  True if cursorMoved() should skip picking when neither the cursor
+     *  nor anything pick-relevant in the collision roots has changed
+     *  since the last pick.
+     */
+    private boolean coalesceMotion;
+    private boolean guiRectPicking;
+    private final Vector3f boundsMin = new Vector3f();
+    private final Vector3f boundsMax = new Vector3f();
+    private boolean pickStale = true;
+    private int lastX;
+    private int lastY;
+    private boolean lastMotionConsumed;
+
+    /**
+     *  The root state as of the last isPickStale() check.  Cloned sessions
+     *  share root entries so this is kept per session.
+     */
+    private Map<RootEntry, RootState> rootStates = new HashMap<RootEntry, RootState>();
+    private final float[] rootBounds = new float[6];
+
+    /**
+     *  Collisions already computed by a PickBatch for the next
+     *  cursorMoved() call.
+     */
+    private Map<RootEntry, CollisionResults> batchResults = new HashMap<RootEntry, CollisionResults>();
      
     
     public PickEventSession() {
@@ -147,6 +218,91 @@ public class PickEventSession {
         return debug;
     }
 
+    /**
+     *  Turns on or off the use of a PickIndex for Spatial collision roots.
+     *  When enabled, each root keeps an index of just the spatials that
+     *  have a CursorEventControl or MouseEventControl and only those
+     *  targets that the index says might be hit are collided with.  This
+     *  can be much faster for scenes with many pick targets and lots of
+     *  other geometry.  Defaults to false.
+     */
+    public void setPickIndexEnabled( boolean f ) {
+        this.pickIndexEnabled = f;
+    }
+
+    public boolean isPickIndexEnabled() {
+        return pickIndexEnabled;
+    }
+
+    /**
+     *  Turns on or off the reuse of CursorMotionEvent objects.  When enabled,
+     *  cursor motion delivery uses one event object that is reset for every
+     *  listener call.  Listeners must then not keep a reference to a motion
+     *  event, or to its collision result, after their cursorMoved() returns.
+     *  Along with the pick rays and collision results that are always
+     *  reused, this keeps cursor motion from creating per-event garbage.
+     *  (MouseEventControl listeners still get one JME MouseMotionEvent per
+     *  cursorMoved() because those cannot be reset.)  Defaults to false.
+     */
+    public void setReuseEvents( boolean f ) {
+        this.reuseEvents = f;
+    }
+
+    public boolean isReuseEvents() {
+        return reuseEvents;
+    }
+
+    /**
+     *  Turns on or off motion coalescing.  When enabled, cursorMoved()
+     *  skips the pick and returns the last result if the cursor position
+     *  and scroll value are the same as last time and none of the collision
+     *  roots have changed.  A Spatial root is considered changed if its
+     *  camera or viewport size changed, if its world transform, world bounds,
+     *  or number of children changed, or if one of its pick targets (the
+     *  spatials with a CursorEventControl or MouseEventControl) had a
+     *  control added, removed, enabled, or disabled.  The pick target changes
+     *  are tracked with a per-root version that the controls update.
+     *  Non-Spatial roots are always considered changed.
+     *
+     *  <p>Listeners will no longer get repeated motion events for a cursor
+     *  that is sitting still over an unchanged scene.  JME provides no change
+     *  notification for anything deeper in the scene so a target that moves,
+     *  or a branch that is attached or detached, without changing the root's
+     *  overall bounds is not detected.  Neither are changes inside of a
+     *  target, a mesh deforming for example.  Defaults to false.</p>
+     */
+    public void setMotionCoalescing( boolean f ) {
+        this.coalesceMotion = f;
+        this.pickStale = true;
+    }
+
+    public boolean isMotionCoalescing() {
+        return coalesceMotion;
+    }
+
+    /**
+     *  Turns on or off rectangle hit-testing for Gui bucket roots.  When
+     *  enabled, geometry that belongs to a GuiControl is hit if the cursor
+     *  is inside of both the geometry's world bounds and the GuiControl's
+     *  laid out size, instead of colliding with the geometry's triangles.
+     *  The z-order of hits is the top of each geometry's world bounds.
+     *  Rotated elements, DMesh geometry, and geometry that is not part of
+     *  a GuiControl still use regular mesh collision.
+     *
+     *  <p>This is much cheaper for typical axis-aligned GUIs but a BitmapText
+     *  will be hit anywhere inside of its bounds instead of only on its
+     *  glyph quads and component geometry that hangs outside of its
+     *  GuiControl's size is clipped.  Defaults to false.</p>
+     */
+    public void setGuiRectPicking( boolean f ) {
+        this.guiRectPicking = f;
+        this.pickStale = true;
+    }
+
+    public boolean isGuiRectPicking() {
+        return guiRectPicking;
+    }
+
     protected boolean isTraceEnabled() {
         return debug || log.isTraceEnabled();
     }
@@ -165,7 +321,12 @@ public class PickEventSession {
      */
     @Override
     public PickEventSession clone() {
-        return new PickEventSession(roots);
+        PickEventSession result = new PickEventSession(roots);
+        result.pickIndexEnabled = pickIndexEnabled;
+        result.reuseEvents = reuseEvents;
+        result.coalesceMotion = coalesceMotion;
+        result.guiRectPicking = guiRectPicking;
+        return result;
     }
 
     public ViewPort findViewPort( Spatial s ) {
@@ -213,6 +374,7 @@ public class PickEventSession {
     public void addCollisionRoot( Spatial root, ViewPort viewPort, String layer ) {
         roots.put(root, new RootEntry(root, viewPort, layer));
         rootList = null;
+        pickStale = true;
     }
 
     public void removeCollisionRoot( ViewPort viewPort ) {
@@ -223,7 +385,9 @@ public class PickEventSession {
 
     public void removeCollisionRoot( Spatial root ) {
         RootEntry e = roots.remove(root);
+        rootStates.remove(e);
         rootList = null;
+        pickStale = true;
     }
 
     public void setPickLayerOrder( String... layers ) {
@@ -248,6 +412,7 @@ public class PickEventSession {
             return;
         }
         setCurrentHitTarget(null, null, new Vector2f(-1,-1), null);
+        pickStale = true;
     }
 
     /**
@@ -272,9 +437,10 @@ public class PickEventSession {
 
         // Just in case
         rayCache.clear();
-        delivered.clear();
+        dispatchRecords.clear();
 
         roots.clear();
+        rootStates.clear();
         rootList = null;
     }
 
@@ -305,34 +471,40 @@ public class PickEventSession {
         MouseMotionEvent event2 = null;
 
         if( this.hitTarget != null ) {
-            if( this.hitTarget.getControl(MouseEventControl.class) != null ) {
+            DispatchRecord record = getDispatchRecord(hitTarget);
+            MouseEventControl mouseControl = record.getMouseControl();
+            if( mouseControl != null ) {
                 // Exiting
                 event2 = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, 0, 0);
-                this.hitTarget.getControl(MouseEventControl.class).mouseExited(event2, hitTarget, capture);
+                mouseControl.mouseExited(event2, hitTarget, capture);
             }
-            if( this.hitTarget.getControl(CursorEventControl.class) != null ) {
+            CursorEventControl cursorControl = record.getCursorControl();
+            if( cursorControl != null ) {
                 // Exiting
                 event1 = new CursorMotionEvent(viewport, hitTarget, cursor.x, cursor.y, 0, 0, cr);
-                this.hitTarget.getControl(CursorEventControl.class).cursorExited(event1, hitTarget, capture);
+                cursorControl.cursorExited(event1, hitTarget, capture);
             }
         }
         this.hitTarget = s;
         if( this.hitTarget != null ) {
-            if( this.hitTarget.getControl(MouseEventControl.class) != null ) {
+            DispatchRecord record = getDispatchRecord(hitTarget);
+            MouseEventControl mouseControl = record.getMouseControl();
+            if( mouseControl != null ) {
                 // Entering
                 if( event2 == null ) {
                     event2 = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, 0, 0);
                 }
 
-                this.hitTarget.getControl(MouseEventControl.class).mouseEntered(event2, hitTarget, capture);
+                mouseControl.mouseEntered(event2, hitTarget, capture);
             }
-            if( this.hitTarget.getControl(CursorEventControl.class) != null ) {
+            CursorEventControl cursorControl = record.getCursorControl();
+            if( cursorControl != null ) {
                 // Entering
                 if( event1 == null ) {
                     event1 = new CursorMotionEvent(viewport, hitTarget, cursor.x, cursor.y, 0, 0, cr);
                 }
 
-                this.hitTarget.getControl(CursorEventControl.class).cursorEntered(event1, hitTarget, capture);
+                cursorControl.cursorEntered(event1, hitTarget, capture);
             }
         }
     }
@@ -390,21 +562,34 @@ public class PickEventSession {
      *  spatial. 
      */
     protected float[] getZBounds( Spatial s ) {
+        return getZBounds(s, new float[2]);
+    }
+
+    /**
+     *  Stores the min and max world z values for the specified
+     *  spatial into the specified array and returns it. 
+     */
+    protected float[] getZBounds( Spatial s, float[] store ) {
         BoundingVolume bv = s.getWorldBound();
         if( bv == null ) {
             // JME returns null for empty nodes
-            return new float[] {0, 1}; 
+            store[0] = 0;
+            store[1] = 1;
+            return store; 
         }
         Vector3f center = bv.getCenter();
         if( bv instanceof BoundingBox ) {
             BoundingBox bb = (BoundingBox)bv;
-            return new float[] { center.z - bb.getZExtent(), center.z + bb.getZExtent() };
+            store[0] = center.z - bb.getZExtent();
+            store[1] = center.z + bb.getZExtent();
         } else if( bv instanceof BoundingSphere ) {
             BoundingSphere bs = (BoundingSphere)bv;
-            return new float[] { center.z - bs.getRadius(), center.z + bs.getRadius() };
+            store[0] = center.z - bs.getRadius();
+            store[1] = center.z + bs.getRadius();
         } else {
             throw new UnsupportedOperationException("Bounding volume type not supported for:" + bv);
-        }        
+        }
+        return store;        
     }
 
     protected Ray getPickRay( RootEntry rootEntry, Vector2f cursor ) {
@@ -415,14 +600,21 @@ public class PickEventSession {
     
         Camera cam = rootEntry.viewport.getCamera();
 
-        Ray result = rayCache.get(cam);
-        if( result != null )
-            return result;
+        CachedRay cached = rayCache.get(cam);
+        if( cached == null ) {
+            cached = new CachedRay(rayStamp - 1);
+            rayCache.put(cam, cached);
+        }
+        if( cached.stamp == rayStamp ) {
+            return cached.ray;
+        }
+        cached.stamp = rayStamp;
 
+        Ray result = cached.storage;
         if( rootEntry.root instanceof Spatial && ((Spatial)rootEntry.root).getQueueBucket() == Bucket.Gui ) {
             trace("Creating GuiBucket ray.");
             // Base the upper and lower Z on the bounds of the spatial +/- some buffer
-            float[] range = getZBounds((Spatial)rootEntry.root);
+            float[] range = getZBounds((Spatial)rootEntry.root, zBounds);
             
             // Adjust by some buffer
             range[0] -= 1;
@@ -434,7 +626,8 @@ public class PickEventSession {
             //result = new Ray(new Vector3f(cursor.x, cursor.y, range[1]), new Vector3f(0, 0, range[0]));
             
             // Cast a ray from the top good value down through the 2D scene. 
-            result = new Ray(new Vector3f(cursor.x, cursor.y, range[1]), new Vector3f(0, 0, -1));
+            result.getOrigin().set(cursor.x, cursor.y, range[1]);
+            result.getDirection().set(0, 0, -1);
         } else {
 
             // Ortho and perspective can be handled the same exact way it turns out.
@@ -444,14 +637,15 @@ public class PickEventSession {
             if( viewContains(cam, cursor) ) {
                 // Turns out these can be calculated the same as perspective... and
                 // we should technically clip perspective also.
-                Vector3f clickFar  = cam.getWorldCoordinates(cursor, 1);
-                Vector3f clickNear = cam.getWorldCoordinates(cursor, 0);
+                Vector3f clickFar  = cam.getWorldCoordinates(cursor, 1, farTemp);
+                Vector3f clickNear = cam.getWorldCoordinates(cursor, 0, nearTemp);
                 if( isTraceEnabled() ) {                
                     trace("Creating Viewport ray, clickNear:" + clickNear + " clickFar:" + clickFar);
                 }
                 Vector3f clickDir = clickFar.subtractLocal(clickNear).normalizeLocal();
                 if( clickDir.isUnitVector() ) {
-                    result = new Ray(clickNear, clickDir);
+                    result.getOrigin().set(clickNear);
+                    result.getDirection().set(clickDir);
                 } else {
                     if( isTraceEnabled() ) {
                         trace("Camera provided near/far that produced non-unit vector:" + clickDir); 
@@ -463,7 +657,7 @@ public class PickEventSession {
             }
         }
 
-        rayCache.put(cam, result);
+        cached.ray = result;
         return result;
     }
 
@@ -482,21 +676,43 @@ public class PickEventSession {
         if( isTraceEnabled() ) {
             trace("cursorMoved(" + x + ", " + y + ", scroll=" + scroll + ") capture:" + capture);
         }
+        if( dispatching ) {
+            // A listener has called us back... so the working
+            // state is in use.
+            return cursorMoved(x, y, scroll, new Vector2f(x, y), new CollisionResults(), false, false);
+        }
+        if( coalesceMotion && !isPickStale(x, y, scroll) ) {
+            trace("Nothing changed, skipping pick.");
+            batchResults.clear();
+            return lastMotionConsumed;
+        }
+        dispatching = true;
+        try {
+            cursorTemp.set(x, y);
+            lastMotionConsumed = cursorMoved(x, y, scroll, cursorTemp, collisionTemp, reuseEvents,
+                                             !batchResults.isEmpty());
+            return lastMotionConsumed;
+        } finally {
+            collisionTemp.clear();
+            batchResults.clear();
+            dispatching = false;
+        }
+    }
+
+    private boolean cursorMoved( int x, int y, int scroll, Vector2f cursor,
+                                 CollisionResults results, boolean reuse, boolean batched ) {
         int scrollDelta = scroll - lastScroll;
         lastScroll = scroll;
 
-        Vector2f cursor = new Vector2f(x,y);
-
         // Note: roots are processed in the order that they
         // were added... so guiNodes, etc. always come first.
-        CollisionResults results = new CollisionResults();
         Spatial firstHit = null;
         MouseMotionEvent event = null;
-        Spatial target = null;
 
-        // Always clear the caches first
-        rayCache.clear();
-        delivered.clear();
+        // Always clear the caches first.  The delivery stamp is kept
+        // locally in case a listener calls us again.
+        rayStamp++;
+        int delivery = ++deliveryStamp;
 
         // If there is a captured spatial then always deliver an
         // event to it... and do it first.  a) it's more consistent
@@ -506,16 +722,19 @@ public class PickEventSession {
             // To properly emulate the old behavior, we need to deliver to both
             // controls.
             boolean consumed = false;
-            if( capture.getControl(MouseEventControl.class) != null ) {
+            DispatchRecord captureRecord = getDispatchRecord(capture);
+            MouseEventControl mouseControl = captureRecord.getMouseControl();
+            if( mouseControl != null ) {
                 event = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, scroll, scrollDelta);
-                delivered.add(capture);
-                capture.getControl(MouseEventControl.class).mouseMoved(event, capture, capture);
+                markDelivered(captureRecord, delivery);
+                mouseControl.mouseMoved(event, capture, capture);
                 if( event.isConsumed() ) {
                     // We're done already
                     consumed = true;
                 }
             }
-            if( capture.getControl(CursorEventControl.class) != null ) {
+            CursorEventControl cursorControl = captureRecord.getCursorControl();
+            if( cursorControl != null ) {
                 // Actually, we do need to find the collision or else we don't
                 // deliver any proper motion activity to things when the button
                 // is down.
@@ -537,17 +756,17 @@ public class PickEventSession {
                 if( mouseRay != null ) {
 
                     // But we don't have to pick the whole hiearchy...
-                    int count = capture.collideWith(mouseRay, results);
+                    int count = collideWithSpatial(capture, mouseRay, results);
                     CollisionResult cr = null;
                     if( count > 0 ) {
                         cr = results.getClosestCollision();
                         results.clear();
                     }
-                    CursorMotionEvent cme = new CursorMotionEvent(captureRoot.viewport, capture, 
-                                                                  cursor.x, cursor.y, scroll, scrollDelta, 
-                                                                  cr);
-                    delivered.add(capture);
-                    capture.getControl(CursorEventControl.class).cursorMoved(cme, capture, capture);
+                    CursorMotionEvent cme = motionEvent(reuse, captureRoot.viewport, capture, 
+                                                        cursor.x, cursor.y, scroll, scrollDelta, 
+                                                        cr);
+                    markDelivered(captureRecord, delivery);
+                    cursorControl.cursorMoved(cme, capture, capture);
                     if( cme.isConsumed() ) {
                         // We're done already
                         consumed = true;
@@ -572,9 +791,20 @@ public class PickEventSession {
 
             // Rather than process every root, we will stop when
             // we find one that is ready to consume our event
-            int count = e.root.collideWith(mouseRay, results);
+            int count;
+            CollisionResults preset = batched ? batchResults.get(e) : null;
+            if( preset != null ) {
+                // A PickBatch already did the collision for us
+                for( int i = 0; i < preset.size(); i++ ) {
+                    results.addCollision(preset.getCollision(i));
+                }
+                count = results.size();
+            } else {
+                count = collideWithRoot(e, mouseRay, results);
+            }
             if( count > 0 ) {
-                for( CollisionResult cr : results ) {
+                for( int i = 0; i < count; i++ ) {
+                    CollisionResult cr = results.getCollision(i);
                     Geometry geom = cr.getGeometry();
                     if( isTraceEnabled() ) {
                         trace("Collision geometry:" + geom);
@@ -592,19 +822,21 @@ public class PickEventSession {
                     }
 
                     // Only deliver events to each hit once.
-                    if( delivered.add(hit) ) {
+                    DispatchRecord record = getDispatchRecord(hit);
+                    if( markDelivered(record, delivery) ) {
 
                         // To properly emulate the old behavior, we need to deliver to both
                         // controls.
                         boolean consumed = false;
 
-                        if( hit.getControl(MouseEventControl.class) != null ) {
+                        MouseEventControl mouseControl = record.getMouseControl();
+                        if( mouseControl != null ) {
                             // See if this is one that will take our event
                             if( event == null ) {
                                 event = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, scroll, scrollDelta);
                             }
 
-                            hit.getControl(MouseEventControl.class).mouseMoved(event, hit, capture);
+                            mouseControl.mouseMoved(event, hit, capture);
 
                             // If the event is consumed then we're done
                             if( event.isConsumed() ) {
@@ -612,10 +844,11 @@ public class PickEventSession {
                             }
                         }
 
-                        if( hit.getControl(CursorEventControl.class) != null ) {
-                            CursorMotionEvent cme = new CursorMotionEvent(e.viewport, hit, cursor.x, cursor.y, 
-                                                                          scroll, scrollDelta, cr);
-                            hit.getControl(CursorEventControl.class).cursorMoved(cme, hit, capture);
+                        CursorEventControl cursorControl = record.getCursorControl();
+                        if( cursorControl != null ) {
+                            CursorMotionEvent cme = motionEvent(reuse, e.viewport, hit, cursor.x, cursor.y, 
+                                                                scroll, scrollDelta, cr);
+                            cursorControl.cursorMoved(cme, hit, capture);
 
                             // If the event is consumed then we're done
                             if( cme.isConsumed() ) {
@@ -640,6 +873,312 @@ public class PickEventSession {
         return false;
     }
 
+    /**
+     *  Returns true if a pick at the specified cursor position might have
+     *  different results than the last pick.  This also records the current
+     *  cursor and root state for the next check.
+     */
+    protected boolean isPickStale( int x, int y, int scroll ) {
+        boolean result = pickStale || x != lastX || y != lastY || scroll != lastScroll;
+        pickStale = false;
+        lastX = x;
+        lastY = y;
+
+        // Check all of the roots even if we already know we are
+        // stale so that they are all up to date for next time.
+        for( RootEntry e : getRootList().getArray() ) {
+            if( rootChanged(e) ) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    private boolean rootChanged( RootEntry e ) {
+        if( !(e.root instanceof Spatial) ) {
+            // We have no way of knowing
+            return true;
+        }
+        Spatial root = (Spatial)e.root;
+        RootState state = rootStates.get(e);
+        if( state == null ) {
+            state = new RootState();
+            rootStates.put(e, state);
+        }
+        boolean changed = false;
+
+        int version = PickTargets.getRootVersion(root);
+        if( version != state.version ) {
+            state.version = version;
+            changed = true;
+        }
+
+        // Nothing else under the root tells us when it changes but
+        // attaching, detaching, or moving things will usually change
+        // the root's own bounds.
+        if( !PickIndex.getWorldBounds(root, rootBounds) ) {
+            Arrays.fill(rootBounds, 0);
+        }
+        if( !Arrays.equals(rootBounds, state.bounds) ) {
+            System.arraycopy(rootBounds, 0, state.bounds, 0, rootBounds.length);
+            changed = true;
+        }
+        int children = root instanceof Node ? ((Node)root).getQuantity() : 0;
+        if( children != state.children ) {
+            state.children = children;
+            changed = true;
+        }
+        if( !state.translation.equals(root.getWorldTranslation())
+            || !state.rotation.equals(root.getWorldRotation())
+            || !state.scale.equals(root.getWorldScale()) ) {
+            state.translation.set(root.getWorldTranslation());
+            state.rotation.set(root.getWorldRotation());
+            state.scale.set(root.getWorldScale());
+            changed = true;
+        }
+
+        Camera cam = e.viewport.getCamera();
+        if( state.width != cam.getWidth() || state.height != cam.getHeight() ) {
+            state.width = cam.getWidth();
+            state.height = cam.getHeight();
+            changed = true;
+        }
+        if( !state.viewProjection.equals(cam.getViewProjectionMatrix()) ) {
+            state.viewProjection.set(cam.getViewProjectionMatrix());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     *  Returns a motion event for delivery, reusing the session's
+     *  event if requested.
+     */
+    private CursorMotionEvent motionEvent( boolean reuse, ViewPort view, Spatial target, float x, float y,
+                                           int scroll, int scrollDelta, CollisionResult cr ) {
+        if( !reuse ) {
+            return new CursorMotionEvent(view, target, x, y, scroll, scrollDelta, cr);
+        }
+        if( motionEvent == null ) {
+            motionEvent = new CursorMotionEvent(view, target, x, y, scroll, scrollDelta, cr);
+        } else {
+            motionEvent.reset(view, target, x, y, scroll, scrollDelta, cr);
+        }
+        return motionEvent;
+    }
+
+    /**
+     *  Marks the specified record as delivered to for the specified
+     *  cursorMoved() call, returning true if it was not already.
+     */
+    private boolean markDelivered( DispatchRecord record, int delivery ) {
+        if( record.delivered == delivery ) {
+            return false;
+        }
+        record.delivered = delivery;
+        return true;
+    }
+
+    /**
+     *  Returns the dispatch record for the specified spatial, looking up
+     *  its event controls again if any pick target controls have changed
+     *  since they were last looked up.
+     */
+    private DispatchRecord getDispatchRecord( Spatial s ) {
+        int version = PickTargets.getControlVersion();
+        DispatchRecord result = dispatchRecords.get(s);
+        if( result == null ) {
+            result = new DispatchRecord(deliveryStamp - 1);
+            dispatchRecords.put(s, result);
+        } else if( result.version == version ) {
+            return result;
+        }
+        result.setControls(s.getControl(MouseEventControl.class),
+                           s.getControl(CursorEventControl.class));
+        result.version = version;
+        return result;
+    }
+
+    /**
+     *  Collides the specified ray with the root entry, using the root's
+     *  PickIndex if pick indexing is enabled.
+     */
+    protected int collideWithRoot( RootEntry e, Ray ray, CollisionResults results ) {
+        PickIndex index = pickIndexEnabled ? e.getPickIndex() : null;
+        if( index == null ) {
+            if( e.root instanceof Spatial ) {
+                return collideWithSpatial((Spatial)e.root, ray, results);
+            }
+            return e.root.collideWith(ray, results);
+        }
+
+        index.refresh();
+        index.findCandidates(ray, pickCandidates);
+        if( pickCandidates.isEmpty() ) {
+            return 0;
+        }
+        if( isTraceEnabled() ) {
+            trace("Pick index candidates:" + pickCandidates);
+        }
+
+        // Targets can be nested inside of other targets and colliding
+        // with a parent already collides with its children.
+        pickCandidateSet.addAll(pickCandidates);
+        for( Spatial s : pickCandidates ) {
+            boolean nested = false;
+            for( Spatial p = s.getParent(); p != null; p = p.getParent() ) {
+                if( pickCandidateSet.contains(p) ) {
+                    nested = true;
+                    break;
+                }
+            }
+            if( !nested ) {
+                collideWithSpatial(s, ray, results);
+            }
+        }
+        pickCandidates.clear();
+        pickCandidateSet.clear();
+        return results.size();
+    }
+
+    /**
+     *  Collides the specified ray with the spatial, using rectangle
+     *  hit-testing if gui rectangle picking is enabled and the spatial
+     *  is in the Gui bucket.
+     */
+    protected int collideWithSpatial( Spatial s, Ray ray, CollisionResults results ) {
+        if( !guiRectPicking || s.getQueueBucket() != Bucket.Gui ) {
+            return s.collideWith(ray, results);
+        }
+        int start = results.size();
+        collideGui(s, findGuiOwner(s), ray, results);
+        return results.size() - start;
+    }
+
+    /**
+     *  Returns the nearest node at or above s that has a GuiControl.
+     */
+    static Node findGuiOwner( Spatial s ) {
+        for( Spatial p = s; p != null; p = p.getParent() ) {
+            if( p instanceof Node && p.getControl(GuiControl.class) != null ) {
+                return (Node)p;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Collides the ray with a single geometry on behalf of a PickBatch,
+     *  applying this session's collision settings.
+     */
+    void collideGeometry( Geometry geom, Node owner, Ray ray, CollisionResults results ) {
+        if( guiRectPicking && geom.getQueueBucket() == Bucket.Gui ) {
+            collideGuiGeometry(geom, owner, ray, results);
+        } else {
+            geom.collideWith(ray, results);
+        }
+    }
+
+    /**
+     *  Returns true if the specified root entry is one of this session's
+     *  collision roots.
+     */
+    boolean hasRoot( RootEntry e ) {
+        return roots.get(e.root) == e;
+    }
+
+    /**
+     *  Fills in the store with the pick ray for the specified root and
+     *  cursor position, returning null if the cursor does not pick into
+     *  that root.
+     */
+    Ray getPickRay( RootEntry e, Vector2f cursor, Ray store ) {
+        // Make sure we don't get a ray cached for an older cursor position
+        rayStamp++;
+        Ray ray = getPickRay(e, cursor);
+        if( ray == null ) {
+            return null;
+        }
+        store.setOrigin(ray.getOrigin());
+        store.setDirection(ray.getDirection());
+        store.setLimit(ray.getLimit());
+        return store;
+    }
+
+    /**
+     *  Called by PickBatch to provide the collisions that the next
+     *  cursorMoved() should use for the specified root instead of colliding
+     *  with it directly.
+     */
+    void setBatchResults( RootEntry e, CollisionResults results ) {
+        batchResults.put(e, results);
+    }
+
+    void clearBatchResults() {
+        batchResults.clear();
+    }
+
+    private void collideGui( Spatial s, Node owner, Ray ray, CollisionResults results ) {
+        if( s instanceof Node ) {
+            Node node = (Node)s;
+            if( node.getControl(GuiControl.class) != null ) {
+                owner = node;
+            }
+            List<Spatial> children = node.getChildren();
+            for( int i = 0; i < children.size(); i++ ) {
+                collideGui(children.get(i), owner, ray, results);
+            }
+        } else if( s instanceof Geometry ) {
+            collideGuiGeometry((Geometry)s, owner, ray, results);
+        }
+    }
+
+    private void collideGuiGeometry( Geometry geom, Node owner, Ray ray, CollisionResults results ) {
+        BoundingVolume bv = geom.getWorldBound();
+        if( owner == null || !(bv instanceof BoundingBox)
+            || geom.getMesh() instanceof DMesh
+            || !geom.getWorldRotation().isIdentity()
+            || !owner.getWorldRotation().isIdentity() ) {
+            // Not something a rectangle can stand in for
+            geom.collideWith(ray, results);
+            return;
+        }
+
+        Vector3f origin = ray.getOrigin();
+        float x = origin.x;
+        float y = origin.y;
+
+        // Clip against the GuiControl's area which extends down and to
+        // the right from its origin
+        Vector3f size = owner.getControl(GuiControl.class).getSize();
+        Vector3f loc = owner.getWorldTranslation();
+        Vector3f scale = owner.getWorldScale();
+        float x1 = loc.x;
+        float x2 = loc.x + size.x * scale.x;
+        float y1 = loc.y;
+        float y2 = loc.y - size.y * scale.y;
+        if( x < Math.min(x1, x2) || x > Math.max(x1, x2)
+            || y < Math.min(y1, y2) || y > Math.max(y1, y2) ) {
+            return;
+        }
+
+        BoundingBox bb = (BoundingBox)bv;
+        Vector3f min = bb.getMin(boundsMin);
+        Vector3f max = bb.getMax(boundsMax);
+        if( min.x >= max.x || min.y >= max.y ) {
+            // No area to hit
+            return;
+        }
+        if( x < min.x || x > max.x || y < min.y || y > max.y || max.z > origin.z ) {
+            return;
+        }
+
+        CollisionResult cr = new CollisionResult(new Vector3f(x, y, max.z), origin.z - max.z);
+        cr.setContactNormal(new Vector3f(0, 0, 1));
+        cr.setGeometry(geom);
+        results.addCollision(cr);
+    }
+
     public boolean buttonEvent( int buttonIndex, int x, int y, boolean pressed ) {
 
         CursorButtonEvent event1 = null;
@@ -650,6 +1189,10 @@ public class PickEventSession {
         // before this button event comes to us.
         cursorMoved(x,y);
 
+        // Capture is about to change so the next motion needs
+        // a real pick.
+        pickStale = true;
+
         if( pressed ) {
             capture = hitTarget;
         } else if( capture != null ) {
@@ -660,18 +1203,21 @@ public class PickEventSession {
             capture = null;
             boolean consumed = false;
 
-            if( tempCapture.getControl(MouseEventControl.class) != null ) {
+            DispatchRecord captureRecord = getDispatchRecord(tempCapture);
+            MouseEventControl captureMouse = captureRecord.getMouseControl();
+            if( captureMouse != null ) {
                 event2 = new MouseButtonEvent(buttonIndex, pressed, x, y);
-                tempCapture.getControl(MouseEventControl.class).mouseButtonEvent(event2, hitTarget, tempCapture);
+                captureMouse.mouseButtonEvent(event2, hitTarget, tempCapture);
 
                 // If the event was consumed then we're done
                 if( event2.isConsumed() )
                     consumed = true;
             }
 
-            if( tempCapture.getControl(CursorEventControl.class) != null ) {
+            CursorEventControl captureCursor = captureRecord.getCursorControl();
+            if( captureCursor != null ) {
                 event1 = new CursorButtonEvent(buttonIndex, pressed, findViewPort(hitTarget), hitTarget, x, y, null);
-                tempCapture.getControl(CursorEventControl.class).cursorButtonEvent(event1, hitTarget, tempCapture);
+                captureCursor.cursorButtonEvent(event1, hitTarget, tempCapture);
 
                 // If the event was consumed then we're done
                 if( event1.isConsumed() )
@@ -693,12 +1239,14 @@ public class PickEventSession {
         }
 
         boolean consumed = false;
-        if( hitTarget.getControl(MouseEventControl.class) != null ) {
+        DispatchRecord record = getDispatchRecord(hitTarget);
+        MouseEventControl mouseControl = record.getMouseControl();
+        if( mouseControl != null ) {
             if( event2 == null ) {
                 event2 = new MouseButtonEvent(buttonIndex, pressed, x, y);
             }
 
-            hitTarget.getControl(MouseEventControl.class).mouseButtonEvent(event2, hitTarget, capture);
+            mouseControl.mouseButtonEvent(event2, hitTarget, capture);
             if( event2.isConsumed() ) {
                 consumed = true;
             }
@@ -714,12 +1262,13 @@ public class PickEventSession {
         // In reality, we probably want some way to add the drag listener to the beginning
         // of the list.
 
-        if( hitTarget.getControl(CursorEventControl.class) != null ) {
+        CursorEventControl cursorControl = record.getCursorControl();
+        if( cursorControl != null ) {
             if( event1 == null ) {
                 event1 = new CursorButtonEvent(buttonIndex, pressed, findViewPort(hitTarget), hitTarget, x, y, null);
             }
 
-            hitTarget.getControl(CursorEventControl.class).cursorButtonEvent(event1, hitTarget, capture);
+            cursorControl.cursorButtonEvent(event1, hitTarget, capture);
             if( event1.isConsumed() ) {
                 consumed = true;
             }
@@ -727,11 +1276,71 @@ public class PickEventSession {
         return consumed;
     }
 
+    /**
+     *  The reusable pick ray for a camera and the pick it was last
+     *  calculated for.  ray is null if the cursor was outside of
+     *  the camera's view.
+     */
+    private static class CachedRay {
+        final Ray storage = new Ray();
+        Ray ray;
+        int stamp;
+
+        public CachedRay( int stamp ) {
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     *  The event controls of a spatial and the last cursorMoved() call
+     *  that delivered to it.  The controls are only weakly held because
+     *  they refer to the spatial that the record is weakly keyed by.
+     */
+    private static class DispatchRecord {
+        int version;
+        int delivered;
+        private WeakReference<MouseEventControl> mouseControl;
+        private WeakReference<CursorEventControl> cursorControl;
+
+        public DispatchRecord( int delivered ) {
+            this.delivered = delivered;
+        }
+
+        public void setControls( MouseEventControl mouse, CursorEventControl cursor ) {
+            this.mouseControl = mouse == null ? null : new WeakReference<MouseEventControl>(mouse);
+            this.cursorControl = cursor == null ? null : new WeakReference<CursorEventControl>(cursor);
+        }
+
+        public MouseEventControl getMouseControl() {
+            return mouseControl == null ? null : mouseControl.get();
+        }
+
+        public CursorEventControl getCursorControl() {
+            return cursorControl == null ? null : cursorControl.get();
+        }
+    }
+
+    /**
+     *  The pick-relevant state of a root as of the last pick.
+     */
+    private static class RootState {
+        int version = -1;
+        int width;
+        int height;
+        final Matrix4f viewProjection = new Matrix4f();
+        final float[] bounds = new float[6];
+        int children = -1;
+        final Vector3f translation = new Vector3f();
+        final Quaternion rotation = new Quaternion();
+        final Vector3f scale = new Vector3f();
+    }
+
     public static class RootEntry {
 
         public ViewPort viewport;
         public Collidable root;
         public String layer;
+        private PickIndex pickIndex;
 
         public RootEntry( Collidable root, ViewPort viewport, String layer ) {
             this.viewport = viewport;
@@ -739,6 +1348,17 @@ public class PickEventSession {
             this.layer = layer;
         }
 
+        /**
+         *  Returns the pick index for this root, creating it if necessary,
+         *  or null if the root is not a Spatial.
+         */
+        public PickIndex getPickIndex() {
+            if( pickIndex == null && root instanceof Spatial ) {
+                pickIndex = PickIndex.create((Spatial)root);
+            }
+            return pickIndex;
+        }
+
         @Override
         public String toString() {
             return "RootEntry[viewport=" + viewport + ", root=" + root + ", layer=" + layer + "]";
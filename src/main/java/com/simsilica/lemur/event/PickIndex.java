@@ -0,0 +1,377 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  An acceleration structure for picking that only indexes the
+ *  spatials under a particular root that have a CursorEventControl or
+ *  MouseEventControl.  A PickEventSession with pick indexing enabled
+ *  will only do full collision checks against the targets that
+ *  the index returns as candidates.
+ *
+ *  <p>Targets whose event controls are added, removed, enabled, or
+ *  disabled are queued by the controls and only those are looked up
+ *  again on refresh().  Targets that are not indexed also queue
+ *  themselves when they are updated which is how targets that are
+ *  attached under the root, directly or as part of some larger branch,
+ *  are found.  JME does not provide any notification when a spatial's
+ *  transform changes or when one of its ancestors is detached, though.
+ *  So refresh() still checks the world bounds and root of each target
+ *  that this index already holds.  Only the targets that actually changed
+ *  are updated in the index structure.</p>
+ *
+ *  <p>Targets under live scenes that are not indexed by any PickIndex
+ *  keep queueing themselves every frame so they are best kept out of
+ *  scenes that are updated but not picked.</p>
+ */
+public abstract class PickIndex {
+
+    private final Spatial root;
+    private final Map<Spatial, Entry> entries = new HashMap<Spatial, Entry>();
+    private final List<Entry> entryList = new ArrayList<Entry>();
+    private int version;
+    private final float[] bounds = new float[6];
+
+    /**
+     *  Targets that have changed since the last refresh().  This is
+     *  filled in by PickTargets from whatever thread changed the
+     *  target's controls.
+     */
+    private final Set<Spatial> pending = Collections.newSetFromMap(new WeakHashMap<Spatial, Boolean>());
+    private final List<Spatial> changed = new ArrayList<Spatial>();
+
+    protected PickIndex( Spatial root ) {
+        this.root = root;
+        PickTargets.register(this);
+    }
+
+    /**
+     *  Creates the default type of pick index for the specified root.
+     */
+    public static PickIndex create( Spatial root ) {
+        if( root.getQueueBucket() == Bucket.Gui ) {
+            return new GuiPickIndex(root);
+        }
+        return new ScenePickIndex(root);
+    }
+
+    public Spatial getRoot() {
+        return root;
+    }
+
+    /**
+     *  Returns the number of targets currently indexed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     *  Returns a version number that changes any time refresh() finds
+     *  that a target was added, removed, moved, resized, or had its
+     *  event controls enabled or disabled.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     *  Called by PickTargets when the specified target's controls
+     *  have changed or when an unindexed target was updated.
+     */
+    void targetChanged( Spatial s ) {
+        synchronized( pending ) {
+            pending.add(s);
+        }
+    }
+
+    /**
+     *  Brings the index up to date with the current set of
+     *  pick targets and their world bounds.
+     */
+    public void refresh() {
+        synchronized( pending ) {
+            if( !pending.isEmpty() ) {
+                changed.addAll(pending);
+                pending.clear();
+            }
+        }
+
+        // Look up just the targets that were queued
+        for( int i = 0; i < changed.size(); i++ ) {
+            Spatial s = changed.get(i);
+            Entry e = entries.get(s);
+            if( e != null ) {
+                boolean enabled = isTargetEnabled(s);
+                if( !isTarget(s) ) {
+                    removeEntry(e);
+                } else if( e.enabled != enabled ) {
+                    e.enabled = enabled;
+                    version++;
+                }
+                // Any new control needs to know it's indexed.  Bounds
+                // and root are checked with the rest below.
+                PickTargets.setIndexed(s, e.index >= 0);
+            } else if( isTarget(s) && isUnderRoot(s) && getWorldBounds(s, bounds) ) {
+                e = new Entry(s);
+                e.setBounds(bounds);
+                e.enabled = isTargetEnabled(s);
+                e.index = entryList.size();
+                entries.put(s, e);
+                entryList.add(e);
+                version++;
+                entryAdded(e);
+                PickTargets.setIndexed(s, true);
+            }
+        }
+        changed.clear();
+
+        // Then make sure that the targets we already have are still under
+        // our root and see if they've moved.  Iterating backwards lets
+        // removeEntry() swap the last entry into the removed slot.
+        for( int i = entryList.size() - 1; i >= 0; i-- ) {
+            Entry e = entryList.get(i);
+            if( !isUnderRoot(e.spatial) || !getWorldBounds(e.spatial, bounds) ) {
+                // No bounds means nothing to collide with
+                removeEntry(e);
+                PickTargets.setIndexed(e.spatial, false);
+                continue;
+            }
+            if( !e.boundsEqual(bounds) ) {
+                e.setBounds(bounds);
+                version++;
+                entryMoved(e);
+            }
+        }
+    }
+
+    private void removeEntry( Entry e ) {
+        if( e.index < 0 ) {
+            return;
+        }
+        Entry last = entryList.remove(entryList.size() - 1);
+        if( last != e ) {
+            entryList.set(e.index, last);
+            last.index = e.index;
+        }
+        e.index = -1;
+        entries.remove(e.spatial);
+        version++;
+        entryRemoved(e);
+    }
+
+    /**
+     *  Adds the targets whose bounds may intersect the specified ray to
+     *  the candidates collection.
+     */
+    public abstract void findCandidates( Ray ray, Collection<Spatial> candidates );
+
+    protected abstract void entryAdded( Entry e );
+
+    protected abstract void entryMoved( Entry e );
+
+    protected abstract void entryRemoved( Entry e );
+
+    protected boolean isTarget( Spatial s ) {
+        return s.getControl(CursorEventControl.class) != null
+            || s.getControl(MouseEventControl.class) != null;
+    }
+
+    protected boolean isTargetEnabled( Spatial s ) {
+        CursorEventControl control1 = s.getControl(CursorEventControl.class);
+        if( control1 != null && control1.isEnabled() ) {
+            return true;
+        }
+        MouseEventControl control2 = s.getControl(MouseEventControl.class);
+        return control2 != null && control2.isEnabled();
+    }
+
+    protected boolean isUnderRoot( Spatial s ) {
+        for( Spatial p = s; p != null; p = p.getParent() ) {
+            if( p == root ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Fills in the min x, y, z and max x, y, z of the specified
+     *  spatial's world bounds and returns true or returns false if the
+     *  spatial has no bounds.
+     */
+    protected static boolean getWorldBounds( Spatial s, float[] store ) {
+        BoundingVolume bv = s.getWorldBound();
+        if( bv == null ) {
+            return false;
+        }
+        Vector3f center = bv.getCenter();
+        float x, y, z;
+        if( bv instanceof BoundingBox ) {
+            BoundingBox bb = (BoundingBox)bv;
+            x = bb.getXExtent();
+            y = bb.getYExtent();
+            z = bb.getZExtent();
+        } else if( bv instanceof BoundingSphere ) {
+            x = y = z = ((BoundingSphere)bv).getRadius();
+        } else {
+            // We don't know how to bound it so make it a candidate for
+            // every ray and let the real collision check sort it out.
+            store[0] = store[1] = store[2] = Float.NEGATIVE_INFINITY;
+            store[3] = store[4] = store[5] = Float.POSITIVE_INFINITY;
+            return true;
+        }
+        store[0] = center.x - x;
+        store[1] = center.y - y;
+        store[2] = center.z - z;
+        store[3] = center.x + x;
+        store[4] = center.y + y;
+        store[5] = center.z + z;
+        return true;
+    }
+
+    /**
+     *  Returns true if the ray intersects the specified box within
+     *  the ray's limit.
+     */
+    protected static boolean intersects( Ray ray, float minX, float minY, float minZ,
+                                         float maxX, float maxY, float maxZ ) {
+        Vector3f o = ray.getOrigin();
+        Vector3f d = ray.getDirection();
+        float tMin = 0;
+        float tMax = ray.getLimit();
+
+        // X slab
+        if( d.x == 0 ) {
+            if( o.x < minX || o.x > maxX ) {
+                return false;
+            }
+        } else {
+            float inv = 1f / d.x;
+            float t1 = (minX - o.x) * inv;
+            float t2 = (maxX - o.x) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if( tMin > tMax ) {
+                return false;
+            }
+        }
+
+        // Y slab
+        if( d.y == 0 ) {
+            if( o.y < minY || o.y > maxY ) {
+                return false;
+            }
+        } else {
+            float inv = 1f / d.y;
+            float t1 = (minY - o.y) * inv;
+            float t2 = (maxY - o.y) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if( tMin > tMax ) {
+                return false;
+            }
+        }
+
+        // Z slab
+        if( d.z == 0 ) {
+            if( o.z < minZ || o.z > maxZ ) {
+                return false;
+            }
+        } else {
+            float inv = 1f / d.z;
+            float t1 = (minZ - o.z) * inv;
+            float t2 = (maxZ - o.z) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if( tMin > tMax ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  A single indexed pick target and its last known world bounds.
+     */
+    protected static class Entry {
+        public final Spatial spatial;
+        public float minX, minY, minZ;
+        public float maxX, maxY, maxZ;
+        int index = -1;
+        boolean enabled;
+
+        // Index-specific book-keeping
+        int cellMinX, cellMinY, cellMaxX, cellMaxY;
+        boolean oversized;
+
+        public Entry( Spatial spatial ) {
+            this.spatial = spatial;
+        }
+
+        void setBounds( float[] b ) {
+            minX = b[0];
+            minY = b[1];
+            minZ = b[2];
+            maxX = b[3];
+            maxY = b[4];
+            maxZ = b[5];
+        }
+
+        boolean boundsEqual( float[] b ) {
+            return minX == b[0] && minY == b[1] && minZ == b[2]
+                && maxX == b[3] && maxY == b[4] && maxZ == b[5];
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[" + spatial + ", min=(" + minX + ", " + minY + ", " + minZ 
+                        + "), max=(" + maxX + ", " + maxY + ", " + maxZ + ")]";
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Keeps track of every Spatial that currently has a CursorEventControl
+ *  or MouseEventControl and of the live pick indexes so that the indexes
+ *  only have to look at the targets that actually changed.  The controls
+ *  register and unregister themselves and report when they are enabled or
+ *  disabled.  Spatials are weakly held so that targets that are simply
+ *  dropped without removing their controls don't leak.
+ *
+ *  <p>A per-root version is also kept for any root that asks for one.  It
+ *  is incremented whenever a target under that root has its controls
+ *  added, removed, enabled, or disabled.</p>
+ *
+ *  <p>JME does not say when a spatial is attached or detached so controls
+ *  that are not currently indexed also report themselves when they are
+ *  updated.  A control is only updated when its spatial is part of a scene
+ *  that is being updated which is how targets attached under an indexed
+ *  root are found.</p>
+ */
+class PickTargets {
+
+    private static final Map<Spatial, Boolean> targets = new WeakHashMap<Spatial, Boolean>();
+    private static final List<WeakReference<PickIndex>> indexes = new ArrayList<WeakReference<PickIndex>>();
+    private static volatile boolean indexing;
+    private static volatile int controlVersion;
+    private static final Map<Spatial, RootVersion> rootVersions = new WeakHashMap<Spatial, RootVersion>();
+
+    public static synchronized void add( Spatial s ) {
+        if( s == null ) {
+            return;
+        }
+        targets.put(s, Boolean.TRUE);
+        changed(s);
+    }
+
+    /**
+     *  Removes the specified spatial if it no longer has
+     *  any pick target controls.
+     */
+    public static synchronized void remove( Spatial s ) {
+        if( s == null ) {
+            return;
+        }
+        if( s.getControl(CursorEventControl.class) == null 
+            && s.getControl(MouseEventControl.class) == null ) {
+            targets.remove(s);
+        }
+        changed(s);
+    }
+
+    /**
+     *  Called when one of the specified spatial's pick target controls
+     *  was added, removed, enabled, or disabled.  Every live index will
+     *  check the spatial again on its next refresh.
+     */
+    public static synchronized void changed( Spatial s ) {
+        if( s == null ) {
+            return;
+        }
+        controlVersion++;
+        if( !rootVersions.isEmpty() ) {
+            for( Spatial p = s; p != null; p = p.getParent() ) {
+                RootVersion v = rootVersions.get(p);
+                if( v != null ) {
+                    v.value++;
+                }
+            }
+        }
+        updated(s);
+    }
+
+    /**
+     *  Called by controls that are not currently indexed when they are
+     *  updated.  Every live index will check the spatial again on its next
+     *  refresh but root versions are left alone.
+     */
+    public static synchronized void updated( Spatial s ) {
+        if( s == null || indexes.isEmpty() ) {
+            return;
+        }
+        for( Iterator<WeakReference<PickIndex>> it = indexes.iterator(); it.hasNext(); ) {
+            PickIndex index = it.next().get();
+            if( index == null ) {
+                it.remove();
+                continue;
+            }
+            index.targetChanged(s);
+        }
+        indexing = !indexes.isEmpty();
+    }
+
+    /**
+     *  Returns true if there are any pick indexes that might want to
+     *  hear about an unindexed target.  This is checked without locking
+     *  so that controls can call it every frame.
+     */
+    public static boolean isIndexing() {
+        return indexing;
+    }
+
+    /**
+     *  Returns a version that changes any time any pick target has its
+     *  controls added, removed, enabled, or disabled.  This is checked
+     *  without locking so that it can be called for every event.
+     */
+    public static int getControlVersion() {
+        return controlVersion;
+    }
+
+    /**
+     *  Returns the version of the specified root, which changes any time
+     *  a pick target under it has its controls added, removed, enabled,
+     *  or disabled.  Roots are only tracked after the first call.
+     */
+    public static synchronized int getRootVersion( Spatial root ) {
+        RootVersion result = rootVersions.get(root);
+        if( result == null ) {
+            result = new RootVersion();
+            rootVersions.put(root, result);
+        }
+        return result.value;
+    }
+
+    /**
+     *  Registers a new pick index and queues every current target
+     *  to be checked by it.
+     */
+    public static synchronized void register( PickIndex index ) {
+        indexes.add(new WeakReference<PickIndex>(index));
+        indexing = true;
+        for( Spatial s : targets.keySet() ) {
+            index.targetChanged(s);
+        }
+    }
+
+    /**
+     *  Lets the pick target controls of the specified spatial know
+     *  whether an index currently holds it.  Controls that aren't indexed
+     *  report themselves as changed when they are updated.
+     */
+    public static void setIndexed( Spatial s, boolean indexed ) {
+        CursorEventControl control1 = s.getControl(CursorEventControl.class);
+        if( control1 != null ) {
+            control1.setIndexed(indexed);
+        }
+        MouseEventControl control2 = s.getControl(MouseEventControl.class);
+        if( control2 != null ) {
+            control2.setIndexed(indexed);
+        }
+    }
+
+    private static class RootVersion {
+        int value;
+    }
+}
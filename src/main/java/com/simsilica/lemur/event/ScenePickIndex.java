@@ -0,0 +1,229 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import com.jme3.math.Ray;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  A PickIndex for regular 3D roots that keeps the pick targets
+ *  in a bounding volume hierarchy.  Adding or removing targets causes
+ *  the hierarchy to be rebuilt on the next query.  Targets that only
+ *  move cause the existing hierarchy's bounds to be refit.
+ */
+public class ScenePickIndex extends PickIndex {
+
+    private static final int LEAF_SIZE = 4;
+
+    private final List<Entry> all = new ArrayList<Entry>();
+    private Entry[] order = new Entry[0];
+    private boolean rebuild;
+    private boolean refit;
+
+    // The hierarchy nodes in parallel arrays.  Children are always
+    // created after their parents.
+    private int nodeCount;
+    private float[] nodeBounds = new float[0];
+    private int[] nodeLeft = new int[0];
+    private int[] nodeRight = new int[0];
+    private int[] nodeStart = new int[0];
+    private int[] nodeSize = new int[0];
+
+    private int[] stack = new int[64];
+
+    public ScenePickIndex( Spatial root ) {
+        super(root);
+    }
+
+    @Override
+    public void findCandidates( Ray ray, Collection<Spatial> candidates ) {
+        if( rebuild ) {
+            build();
+        } else if( refit ) {
+            refit();
+        }
+        if( nodeCount == 0 ) {
+            return;
+        }
+
+        int top = 0;
+        stack[top++] = 0;
+        while( top > 0 ) {
+            int node = stack[--top];
+            int b = node * 6;
+            if( !intersects(ray, nodeBounds[b], nodeBounds[b+1], nodeBounds[b+2],
+                            nodeBounds[b+3], nodeBounds[b+4], nodeBounds[b+5]) ) {
+                continue;
+            }
+            if( nodeLeft[node] < 0 ) {
+                int end = nodeStart[node] + nodeSize[node];
+                for( int i = nodeStart[node]; i < end; i++ ) {
+                    Entry e = order[i];
+                    if( intersects(ray, e.minX, e.minY, e.minZ, e.maxX, e.maxY, e.maxZ) ) {
+                        candidates.add(e.spatial);
+                    }
+                }
+            } else {
+                if( top + 2 > stack.length ) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = nodeLeft[node];
+                stack[top++] = nodeRight[node];
+            }
+        }
+    }
+
+    @Override
+    protected void entryAdded( Entry e ) {
+        all.add(e);
+        rebuild = true;
+    }
+
+    @Override
+    protected void entryMoved( Entry e ) {
+        refit = true;
+    }
+
+    @Override
+    protected void entryRemoved( Entry e ) {
+        all.remove(e);
+        rebuild = true;
+    }
+
+    protected void build() {
+        rebuild = false;
+        refit = false;
+        order = all.toArray(new Entry[all.size()]);
+        nodeCount = 0;
+
+        // Each split produces two non-empty halves so there can
+        // never be more than 2n - 1 nodes.
+        int maxNodes = Math.max(1, order.length * 2);
+        if( nodeLeft.length < maxNodes ) {
+            nodeBounds = new float[maxNodes * 6];
+            nodeLeft = new int[maxNodes];
+            nodeRight = new int[maxNodes];
+            nodeStart = new int[maxNodes];
+            nodeSize = new int[maxNodes];
+        }
+        if( order.length == 0 ) {
+            return;
+        }
+        buildNode(0, order.length);
+    }
+
+    private int buildNode( int start, int size ) {
+        int node = nodeCount++;
+        nodeStart[node] = start;
+        nodeSize[node] = size;
+        nodeLeft[node] = -1;
+        nodeRight[node] = -1;
+        computeBounds(node);
+
+        if( size <= LEAF_SIZE ) {
+            return node;
+        }
+
+        // Split on the longest axis of the node bounds
+        int b = node * 6;
+        float dx = nodeBounds[b+3] - nodeBounds[b];
+        float dy = nodeBounds[b+4] - nodeBounds[b+1];
+        float dz = nodeBounds[b+5] - nodeBounds[b+2];
+        final int axis = dx >= dy && dx >= dz ? 0 : (dy >= dz ? 1 : 2);
+        Arrays.sort(order, start, start + size, new Comparator<Entry>() {
+                public int compare( Entry e1, Entry e2 ) {
+                    return Float.compare(center(e1, axis), center(e2, axis));
+                }
+            });
+
+        int half = size / 2;
+        nodeLeft[node] = buildNode(start, half);
+        nodeRight[node] = buildNode(start + half, size - half);
+        return node;
+    }
+
+    private static float center( Entry e, int axis ) {
+        switch( axis ) {
+            case 0:
+                return e.minX + e.maxX;
+            case 1:
+                return e.minY + e.maxY;
+            default:
+                return e.minZ + e.maxZ;
+        }
+    }
+
+    /**
+     *  Recalculates all of the node bounds for the current hierarchy
+     *  without changing its structure.
+     */
+    protected void refit() {
+        refit = false;
+        for( int node = nodeCount - 1; node >= 0; node-- ) {
+            computeBounds(node);
+        }
+    }
+
+    private void computeBounds( int node ) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        int end = nodeStart[node] + nodeSize[node];
+        for( int i = nodeStart[node]; i < end; i++ ) {
+            Entry e = order[i];
+            minX = Math.min(minX, e.minX);
+            minY = Math.min(minY, e.minY);
+            minZ = Math.min(minZ, e.minZ);
+            maxX = Math.max(maxX, e.maxX);
+            maxY = Math.max(maxY, e.maxY);
+            maxZ = Math.max(maxZ, e.maxZ);
+        }
+        int b = node * 6;
+        nodeBounds[b] = minX;
+        nodeBounds[b+1] = minY;
+        nodeBounds[b+2] = minZ;
+        nodeBounds[b+3] = maxX;
+        nodeBounds[b+4] = maxY;
+        nodeBounds[b+5] = maxZ;
+    }
+}
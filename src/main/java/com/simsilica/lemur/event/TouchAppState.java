@@ -62,6 +62,9 @@ public class TouchAppState extends BasePickState {
 
     protected Map<Integer, PointerData> pointerDataMap = new HashMap<Integer, PointerData>();
 
+    private boolean batchPicking;
+    private PickBatch pickBatch = new PickBatch();
+
     /**
      * Storage class for the session and last location of the touch events
      *  for a single pointer (finger for touch). <br>
@@ -90,6 +93,21 @@ public class TouchAppState extends BasePickState {
         app.getInputManager().addRawInputListener(touchObserver);
     }
 
+    /**
+     * Turns on or off picking all active pointers together. <br>
+     * When enabled, dispatchMotion() uses a PickBatch to pick every root
+     * once for all of the pointers instead of once per pointer.  All of the
+     * pointers are picked before any motion events are delivered.
+     * Defaults to false.
+     */
+    public void setBatchPicking( boolean f ) {
+        this.batchPicking = f;
+    }
+
+    public boolean isBatchPicking() {
+        return batchPicking;
+    }
+
     @Override
     protected void cleanup( Application app ) {
         app.getInputManager().removeRawInputListener(touchObserver);
@@ -109,6 +127,13 @@ public class TouchAppState extends BasePickState {
         if (pointerDataMap.isEmpty()) {
             return;
         }
+        if (batchPicking && pointerDataMap.size() > 1) {
+            for (PointerData pointerData : pointerDataMap.values()) {
+                pickBatch.add(pointerData.session, pointerData.lastX, pointerData.lastY);
+            }
+            pickBatch.dispatch();
+            return;
+        }
         for (Entry<Integer, PointerData> entry: pointerDataMap.entrySet()) {
             PointerData pointerData = entry.getValue();
             pointerData.session.cursorMoved(
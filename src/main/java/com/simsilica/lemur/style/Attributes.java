@@ -41,17 +41,28 @@ import java.util.*;
 /**
  *  The attribute settings for a particular style selector.
  *
+ *  <p>Attribute values are stored copy-on-write so that readers
+ *  resolving styles on other threads always see a consistent
+ *  snapshot.  Setting an attribute on a selector's Attributes
+ *  advances the generation of the style tree that owns it.</p>
+ *
  *  @author    Paul Speed
  */
 public class Attributes {
 
     private Styles parent;
-    private Map<String, Object> values = new HashMap<String, Object>();
+    private StyleTree tree;
+    private volatile Map<String, Object> values = new HashMap<String, Object>();
 
     public Attributes( Styles parent ) {
         this.parent = parent;
     }
 
+    Attributes( Styles parent, StyleTree tree ) {
+        this.parent = parent;
+        this.tree = tree;
+    }
+
     protected Map<String, Object> getValues() {
         return values;
     }
@@ -61,6 +72,8 @@ public class Attributes {
         // Note: applyNew is called in highest to lowest priority.
         //       Things that fill the values map now should override
         //       later things.
+        // Note: applyNew modifies the values in place and is only
+        //       called on attributes that have not been shared yet.
 
         for( Map.Entry<String,Object> e : atts.values.entrySet() ) {
             Object existing = values.get(e.getKey());
@@ -119,9 +132,16 @@ public class Attributes {
     }
 
     public void set( String attribute, Object value, boolean overwrite ) {
-        if( !overwrite && values.containsKey(attribute) )
-            return;
-        values.put( attribute, value );
+        synchronized( this ) {
+            if( !overwrite && values.containsKey(attribute) )
+                return;
+            Map<String, Object> copy = new HashMap<String, Object>(values);
+            copy.put( attribute, value );
+            values = copy;
+        }
+        if( tree != null ) {
+            tree.selectorChanged();
+        }
     }
 
     @SuppressWarnings("unchecked")
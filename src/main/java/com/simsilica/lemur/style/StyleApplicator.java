@@ -0,0 +1,185 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.style;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import com.simsilica.lemur.core.GuiComponent;
+
+/**
+ *  A pre-resolved set of style attribute values for a particular
+ *  class, element ID, and style.  The attribute values are looked
+ *  up once when the applicator is created and each StyleAttribute
+ *  setter is bound to a MethodHandle so that applying the style is
+ *  just a walk over an array of setter/value pairs.
+ *
+ *  <p>Values that could never be changed by Styles.clone() (Strings,
+ *  numbers, enums, lists and maps of those, etc.) are flagged at
+ *  creation time and are passed to the setter directly.</p>
+ *
+ *  <p>Applicators are created and cached by Styles.  They are only
+ *  valid as long as the compiled attributes and defaults they were
+ *  resolved from have not changed.  See isCurrent().</p>
+ */
+class StyleApplicator {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Attributes source;
+    private final int defaultsVersion;
+    private final Binding[] bindings;
+
+    public StyleApplicator( Attributes attrs, int defaultsVersion, List<Method> methods ) {
+        this.source = attrs;
+        this.defaultsVersion = defaultsVersion;
+        List<Binding> list = new ArrayList<>(methods.size());
+        for( Method m : methods ) {
+            StyleAttribute attribute = m.getAnnotation(StyleAttribute.class);
+            Class parmType = m.getParameterTypes()[0];
+            Object value = attrs.get(attribute.value(), parmType, attribute.lookupDefault());
+            if( value == null ) {
+                continue;
+            }
+            list.add(new Binding(m, attribute, value, requiresClone(value)));
+        }
+        this.bindings = list.toArray(new Binding[list.size()]);
+    }
+
+    /**
+     *  Returns true if this applicator was resolved from the specified
+     *  compiled attributes and version of the Styles defaults.
+     */
+    public boolean isCurrent( Attributes attrs, int defaultsVersion ) {
+        return source == attrs && this.defaultsVersion == defaultsVersion;
+    }
+
+    /**
+     *  Returns true if Styles.clone() might return a different object
+     *  for the specified value.  This mirrors the checks in Styles.clone()
+     *  and the list/map versions that will return the original
+     *  container if none of its values needed cloning.
+     */
+    protected static boolean requiresClone( Object value ) {
+        if( value instanceof GuiComponent ) {
+            return true;
+        }
+        if( value instanceof List ) {
+            for( Object o : (List)value ) {
+                if( requiresClone(o) ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if( value instanceof Map ) {
+            for( Object o : ((Map)value).values() ) {
+                if( requiresClone(o) ) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return value instanceof Cloneable;
+    }
+
+    public void apply( Styles styles, Object o ) {
+        boolean trace = Styles.log.isTraceEnabled();
+        for( Binding b : bindings ) {
+            Object value = b.value;
+            if( b.cloneValue ) {
+                value = styles.clone(value, null);
+                if( trace && value != b.value ) {
+                    Styles.log.trace("Cloned value.\nOriginal:" + b.value + "\nClone:" + value);
+                }
+            }
+            if( trace ) {
+                Styles.log.trace("calling " + b.method.getName() + " with:" + value);
+            }
+            b.invoke(o, value);
+        }
+    }
+
+    private static class Binding {
+        final Method method;
+        final StyleAttribute attribute;
+        final MethodHandle setter;
+        final Object value;
+        final boolean cloneValue;
+
+        public Binding( Method method, StyleAttribute attribute, Object value, boolean cloneValue ) {
+            this.method = method;
+            this.attribute = attribute;
+            this.setter = toHandle(method);
+            this.value = value;
+            this.cloneValue = cloneValue;
+        }
+
+        private static MethodHandle toHandle( Method m ) {
+            try {
+                return MethodHandles.publicLookup().unreflect(m).asType(SETTER_TYPE);
+            } catch( IllegalAccessException e ) {
+                // Public methods declared on non-public classes can't be
+                // looked up this way but they can still be called through
+                // reflection.
+                return null;
+            }
+        }
+
+        public void invoke( Object o, Object value ) {
+            if( setter == null ) {
+                try {
+                    method.invoke(o, value);
+                } catch( IllegalAccessException e ) {
+                    throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
+                } catch( InvocationTargetException e ) {
+                    throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
+                }
+                return;
+            }
+            try {
+                setter.invokeExact(o, value);
+            } catch( Throwable t ) {
+                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, t);
+            }
+        }
+    }
+}
@@ -34,20 +34,42 @@
 
 package com.simsilica.lemur.style;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  *  Used internally by the Styles API to track the style
  *  definition hierarchy in tail-first form.
  *
+ *  <p>The tree can be read from any thread while it is being
+ *  modified.  Child maps are replaced rather than modified and
+ *  every attribute change on one of the tree's selectors advances
+ *  the tree's generation so that cached attributes resolved from
+ *  an older generation can be detected.</p>
+ *
+ *  <p>The tree walk for a given element ID only depends on which
+ *  selectors exist, not on their values.  So the tree keeps an index
+ *  of each element ID's resolved selector chain: the selector Attributes
+ *  that apply to it in highest to lowest priority order.  Resolving
+ *  attributes for an element ID seen before is then just a merge of
+ *  that chain.  The index is rebuilt lazily when new selectors are
+ *  added to the tree.</p>
+ *
  *  @author    Paul Speed
  */
 public class StyleTree {
 
     private Styles styles;
     private Node root = new Node(null);
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicInteger structureVersion = new AtomicInteger();
+    private final ConcurrentMap<String, SelectorChain> chainIndex = new ConcurrentHashMap<String, SelectorChain>();
 
     public StyleTree( Styles styles ) {
         this.styles = styles;
@@ -57,6 +79,19 @@ public class StyleTree {
         return root;
     }
 
+    /**
+     *  Returns the current generation of this tree.  The generation
+     *  changes any time an attribute is set on one of this tree's
+     *  selectors.
+     */
+    public int getGeneration() {
+        return generation.get();
+    }
+
+    protected void selectorChanged() {
+        generation.incrementAndGet();
+    }
+
     public Attributes getSelector( ElementId id, boolean create ) { 
         Node node = findChild(root, id.getParts(), create);   
         if( node == null ) {
@@ -85,22 +120,46 @@ public class StyleTree {
         return node.getAttributes(create);
     } 
 
+    /**
+     *  Returns a new Attributes object containing the attributes of all
+     *  of the selectors that apply to the specified element ID.
+     */
     public Attributes getAttributes( ElementId elementId ) {
         Attributes results = new Attributes(styles);
+        for( Attributes selector : getSelectorChain(elementId) ) {
+            results.applyNew(selector);
+        }
+        return results;
+    }
+
+    /**
+     *  Returns the selector Attributes that apply to the specified
+     *  element ID in highest to lowest priority order.  The returned
+     *  array is shared and must not be modified.
+     */
+    protected Attributes[] getSelectorChain( ElementId elementId ) {
+        int version = structureVersion.get();
+        SelectorChain chain = chainIndex.get(elementId.getId());
+        if( chain != null && chain.version == version ) {
+            return chain.selectors;
+        }
 
+        List<Attributes> results = new ArrayList<Attributes>();
         String[] parts = elementId.getParts();
         
         // Recursively descend starting at the tail of the ID
         // doing a depth first traversal.  When a wild card is
         // hit then a second stage traversal is done allowing
         // gaps.
-        accumulateAttributes(root, parts, parts.length - 1, true, results);
-        
-        return results;
+        accumulateSelectors(root, parts, parts.length - 1, true, results);
+
+        chain = new SelectorChain(results.toArray(new Attributes[results.size()]), version);
+        chainIndex.put(elementId.getId(), chain);
+        return chain.selectors;
     }
 
-    protected void accumulateAttributes( Node node, String[] parts, int index, boolean followWildCards,
-                                         Attributes results ) {
+    protected void accumulateSelectors( Node node, String[] parts, int index, boolean followWildCards,
+                                        List<Attributes> results ) {
  
         // At each level we check to see if there is an exact match
         // here and then traverse.  If there are no more 'parts' then we 
@@ -119,7 +178,7 @@ public class StyleTree {
         String key = parts[index];       
         Node child = node.getChild(key, false);
         if( child != null ) {
-            accumulateAttributes(child, parts, index-1, followWildCards, results);
+            accumulateSelectors(child, parts, index-1, followWildCards, results);
         }
  
         if( followWildCards ) {       
@@ -144,15 +203,16 @@ public class StyleTree {
                     if( n == null ) {
                         continue;
                     }
-                    accumulateAttributes(n, parts, i-1, false, results);
+                    accumulateSelectors(n, parts, i-1, false, results);
  
                     // If this node has attributes then that means the
                     // less specific wild-carded container had attributes.
                     // We need to apply them.          
                     // For example: attributes set for slider | button
                     // should hit even if the id is list.slider.up.button         
-                    if( n.attributes != null ) {
-                        results.applyNew(n.attributes);
+                    Attributes attributes = n.attributes;
+                    if( attributes != null ) {
+                        results.add(attributes);
                     }
                 }
             }
@@ -161,8 +221,9 @@ public class StyleTree {
         if( child != null ) {
             // Add any attributes we may have found specifically at this
             // level
-            if( child.attributes != null ) {
-                results.applyNew(child.attributes);
+            Attributes attributes = child.attributes;
+            if( attributes != null ) {
+                results.add(attributes);
             }
         }
     }
@@ -241,32 +302,46 @@ public class StyleTree {
 
     protected class Node {
         private String id;
-        private Attributes attributes;
-        private Map<String, Node> children;
+        private volatile Attributes attributes;
+        private volatile Map<String, Node> children;
  
         public Node( String id ) {
             this.id = id;
         }
         
         public Node getChild( String childId, boolean create ) {
-            if( children == null ) {
-                if( !create ) {
-                    return null;
-                } else {
-                    children = new HashMap<String, Node>();
-                }
+            Map<String, Node> map = children;
+            Node result = map == null ? null : map.get(childId);
+            if( result != null || !create ) {
+                return result;
             }
-            Node result = children.get(childId);
-            if( result == null && create ) {
-                result = new Node(childId);
-                children.put(childId, result);
+            synchronized( StyleTree.this ) {
+                // Check again now that we hold the lock
+                map = children;
+                result = map == null ? null : map.get(childId);
+                if( result == null ) {
+                    // Readers may be iterating the old map so
+                    // we publish a new one instead of modifying it
+                    Map<String, Node> copy = map == null ? new HashMap<String, Node>() 
+                                                         : new HashMap<String, Node>(map);
+                    result = new Node(childId);
+                    copy.put(childId, result);
+                    children = copy;
+                }
+                return result;
             }
-            return result;
         }
         
         public Attributes getAttributes( boolean create ) {
             if( attributes == null && create ) {
-                attributes = new Attributes(styles);
+                synchronized( StyleTree.this ) {
+                    if( attributes == null ) {
+                        attributes = new Attributes(styles, StyleTree.this);
+                        // A new selector can change the chain of
+                        // any element ID
+                        structureVersion.incrementAndGet();
+                    }
+                }
             }
             return attributes;
         }   
@@ -279,6 +354,16 @@ public class StyleTree {
             return "Node[" + (id == null ? "*":id) + (attributes == null ? "" : (", " + attributes)) + "]";
         }
     }
+
+    private static class SelectorChain {
+        final Attributes[] selectors;
+        final int version;
+
+        public SelectorChain( Attributes[] selectors, int version ) {
+            this.selectors = selectors;
+            this.version = version;
+        }
+    }
 }
 
 
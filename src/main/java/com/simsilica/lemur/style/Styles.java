@@ -36,6 +36,9 @@ package com.simsilica.lemur.style;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.simsilica.lemur.core.GuiComponent;
 import org.slf4j.Logger;
@@ -127,8 +130,9 @@ public class Styles {
     public static final String ROOT_STYLE = "root";
     public static final ElementId DEFAULT_ELEMENT = new ElementId("default");
 
-    private static Map<Class, List<Method>> methodIndex = new HashMap<Class, List<Method>>();
-    private Set<Class> initialized = new HashSet<Class>();
+    private static Map<Class, List<Method>> methodIndex = new ConcurrentHashMap<Class, List<Method>>();
+    private Set<Class> initialized = Collections.newSetFromMap(new ConcurrentHashMap<Class, Boolean>());
+    private Set<Class> initializing = new HashSet<Class>();
 
 
     /**
@@ -136,17 +140,29 @@ public class Styles {
      *  contains the tail-first hierarchy of selectors that are
      *  then composed to form a given elements attributes.
      */
-    private Map<String, StyleTree> styleTrees = new HashMap<String, StyleTree>();
+    private ConcurrentMap<String, StyleTree> styleTrees = new ConcurrentHashMap<String, StyleTree>();
 
     /**
      *  Contains the map of lazily compiled attributes for a given
      *  style + element ID.  Each of these Attributes objects is a compiled
      *  hierarchy formed by breaking down the element ID into separate
-     *  selectors.
+     *  selectors.  Each entry remembers the style tree generations it was
+     *  compiled from and is recompiled on access when those have changed.
      */
-    private Map<String, Attributes> attributeMap = new HashMap<String, Attributes>();
+    private ConcurrentMap<String, CompiledAttributes> attributeMap = new ConcurrentHashMap<String, CompiledAttributes>();
 
-    private Map<Class, Object> defaults = new HashMap<Class, Object>();
+    /**
+     *  Contains the lazily created style applicators for a given class
+     *  and style + element ID.  Each applicator holds the pre-resolved
+     *  attribute values and bound setters for that combination.  These
+     *  are recreated when the compiled attributes they were created from
+     *  are replaced or the defaults change.
+     */
+    private ConcurrentMap<Class, ConcurrentMap<String, StyleApplicator>> applicators
+                = new ConcurrentHashMap<Class, ConcurrentMap<String, StyleApplicator>>();
+
+    private Map<Class, Object> defaults = new ConcurrentHashMap<Class, Object>();
+    private final AtomicInteger defaultsVersion = new AtomicInteger();
 
     /**
      *  The default style that is used when no style is specified by a GUI
@@ -154,7 +170,7 @@ public class Styles {
      *  that is inherited by all other styles.  The default style is only used
      *  when looking up attributes for application to components.
      */
-    private String defaultStyle = ROOT_STYLE;
+    private volatile String defaultStyle = ROOT_STYLE;
 
     public Styles() {
         /*
@@ -169,6 +185,11 @@ public class Styles {
 
             This works because our element hierarchy is generally flat and
             known.  It's not like HTML/CSS where you can nest indefinitely.
+
+            Access mode is safe from any thread, even while another thread is
+            still setting attributes.  Selector changes advance the owning
+            style tree's generation and the compiled attributes are lazily
+            recompiled when they are out of date.
          */
     }
 
@@ -190,12 +211,20 @@ public class Styles {
         return defaultStyle;
     }
 
+    /**
+     *  Discards all compiled attributes and style applicators.  This is
+     *  not normally necessary as changes made through the selector
+     *  Attributes are automatically detected.
+     */
     public void clearCache() {
         attributeMap.clear();
+        applicators.clear();
     }
 
     public void setDefault( Object value ) {
         defaults.put(value.getClass(), value);
+        // Applicators have already resolved their default values
+        defaultsVersion.incrementAndGet();
     }
 
     @SuppressWarnings("unchecked")
@@ -222,29 +251,40 @@ public class Styles {
         if( style == null ) {
             style = defaultStyle;
         }
+        StyleTree tree = getTree(style, true);
+        StyleTree rootTree = ROOT_STYLE.equals(style) ? tree : getTree(ROOT_STYLE, true);
+
+        // Grab the generations before compiling so that any changes
+        // made while we compile will cause a recompile next time.
+        int generation = tree.getGeneration();
+        int rootGeneration = rootTree.getGeneration();
+
         // See if we already have a cached version
         String key = styleKey(elementId, style);
-        Attributes result = attributeMap.get(key);
-        if( result == null ) {
-            // Look it up and cache it
-            result = getTree(style, true).getAttributes(elementId);
-
-            // If this is not the default element then apply any
-            // style-specific default attributes
-            if( !DEFAULT_ELEMENT.equals(elementId) ) {
-                result = result.merge(getTree(style, true).getAttributes(DEFAULT_ELEMENT));
-            }
+        CompiledAttributes cached = attributeMap.get(key);
+        if( cached != null && cached.isCurrent(generation, rootGeneration) ) {
+            return cached.attributes;
+        }
 
-            // Apply default styles too if necessary
-            if( !ROOT_STYLE.equals(style) ) {
-                // Look-up the element ID in the default style
-                Attributes toMerge = getAttributes(elementId, ROOT_STYLE);
-                result = result.merge(toMerge);
-            }
+        // Look it up and cache it.  The tree returns a new Attributes
+        // that no one else has seen yet so we can apply the lower priority
+        // attributes directly instead of merging into copies.
+        Attributes result = tree.getAttributes(elementId);
 
-            // Cache it
-            attributeMap.put(key, result);
+        // If this is not the default element then apply any
+        // style-specific default attributes
+        if( !DEFAULT_ELEMENT.equals(elementId) ) {
+            result.applyNew(tree.getAttributes(DEFAULT_ELEMENT));
         }
+
+        // Apply default styles too if necessary
+        if( !ROOT_STYLE.equals(style) ) {
+            // Look-up the element ID in the default style
+            result.applyNew(getAttributes(elementId, ROOT_STYLE));
+        }
+
+        // Cache it
+        attributeMap.put(key, new CompiledAttributes(result, generation, rootGeneration));
         return result;
     }
 
@@ -280,7 +320,10 @@ public class Styles {
         StyleTree tree = styleTrees.get(style);
         if( tree == null && create ) {
             tree = new StyleTree(this);
-            styleTrees.put(style, tree);
+            StyleTree existing = styleTrees.putIfAbsent(style, tree);
+            if( existing != null ) {
+                tree = existing;
+            }
         }
         return tree;
     }
@@ -290,9 +333,8 @@ public class Styles {
     }
 
     public Attributes getSelector( ElementId id, String style ) {
-        // The implication is that we're about to set new style attributes...
-        // so clear the cache
-        clearCache();
+        // Any attributes set on the selector will advance the style
+        // tree's generation so there is no need to clear the cache here.
         return getTree(style, true).getSelector(id, true);
     }
 
@@ -301,7 +343,6 @@ public class Styles {
     }
 
     public Attributes getSelector( ElementId parent, ElementId child, String style ) {
-        clearCache();
         return getTree(style, true).getSelector(parent, child, true);
     }
 
@@ -343,8 +384,25 @@ public class Styles {
     public void initializeStyles(Class c) {
         if( initialized.contains(c) )
             return;
-        initialized.add(c);
 
+        // Style defaults may be applied from any thread that creates GUI
+        // elements so only one thread at a time gets to run them.  Other
+        // threads must wait until the defaults have been fully setup.
+        synchronized( initializing ) {
+            // The defaults methods might create GUI elements of their own
+            // so we also need to protect against recursion.
+            if( initialized.contains(c) || !initializing.add(c) )
+                return;
+            try {
+                initializeDefaults(c);
+                initialized.add(c);
+            } finally {
+                initializing.remove(c);
+            }
+        }
+    }
+
+    private void initializeDefaults(Class c) {
         if( c.getSuperclass() != Object.class ) {
             initializeStyles(c.getSuperclass());
         }
@@ -415,6 +473,7 @@ public class Styles {
             }
         }
 
+        results = Collections.unmodifiableList(results);
         methodIndex.put(c, results);
         return results;
     }
@@ -433,7 +492,6 @@ public class Styles {
         applyStyles(o, elementId, null);
     }
 
-    @SuppressWarnings("unchecked")
     public void applyStyles( Object o, ElementId elementId, String style ) {
 
         Class c = o.getClass();
@@ -443,48 +501,44 @@ public class Styles {
             log.trace("applyStyles elementId:" + elementId + " style:" + style + (style==null?"(" + defaultStyle + ")":""));
         }
 
-        Attributes attrs = getAttributes(elementId, style);
-        if( log.isTraceEnabled() ) {
-            log.trace("style attributes:" + attrs);
-        }
-
-        Cloner cloner = null;
-
-        for( Method m : getStyleAttributeMethods(c) ) {
-            StyleAttribute attribute = m.getAnnotation(StyleAttribute.class);
-
-            Class type = m.getParameterTypes()[0];
-
-            // See if there is a method for getting the existing value
-            // ...this only works for attributes that would be null when unset
-            //Object existing = getExistingValue( o, m );
-            //if( existing != null )
-            //    continue;
-
-            Object value = attrs.get(attribute.value(), type, attribute.lookupDefault());
-            if( value == null )
-                continue;
-
-            // See if the value needs cloning
-            Object original = value;
-            value = clone(value, null);
+        getApplicator(c, elementId, style).apply(this, o);
+    }
 
-            if( log.isTraceEnabled() && original != value ) {
-                log.trace("Cloned value.\nOriginal:" + original + "\nClone:" + value);
+    /**
+     *  Returns the cached style applicator for the specified class, element ID,
+     *  and style, creating it if needed.  The applicator resolves all of the
+     *  class's StyleAttribute values once so that subsequent applyStyles()
+     *  calls for the same combination can skip the attribute lookups and
+     *  reflection.
+     */
+    StyleApplicator getApplicator( Class c, ElementId elementId, String style ) {
+        if( style == null ) {
+            style = defaultStyle;
+        }
+        ConcurrentMap<String, StyleApplicator> index = applicators.get(c);
+        if( index == null ) {
+            index = new ConcurrentHashMap<String, StyleApplicator>();
+            ConcurrentMap<String, StyleApplicator> existing = applicators.putIfAbsent(c, index);
+            if( existing != null ) {
+                index = existing;
             }
+        }
 
-            // Else call it with the value
-            try {
-                if( log.isTraceEnabled() ) {
-                    log.trace("calling " + m.getName() + " with:" + value);
-                }
-                m.invoke(o, value);
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
-            } catch( InvocationTargetException e ) {
-                throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
+        // Resolve the attributes first so that we can tell if the
+        // applicator was built from an older version.
+        int version = defaultsVersion.get();
+        Attributes attrs = getAttributes(elementId, style);
+
+        String key = styleKey(elementId, style);
+        StyleApplicator result = index.get(key);
+        if( result == null || !result.isCurrent(attrs, version) ) {
+            if( log.isTraceEnabled() ) {
+                log.trace("style attributes:" + attrs);
             }
+            result = new StyleApplicator(attrs, version, getStyleAttributeMethods(c));
+            index.put(key, result);
         }
+        return result;
     }
 
     @SuppressWarnings("unchecked")
@@ -642,4 +696,23 @@ public class Styles {
         return source;
     }
 
+    /**
+     *  A compiled Attributes entry and the style tree generations that it
+     *  was compiled from.
+     */
+    private static class CompiledAttributes {
+        final Attributes attributes;
+        final int generation;
+        final int rootGeneration;
+
+        public CompiledAttributes( Attributes attributes, int generation, int rootGeneration ) {
+            this.attributes = attributes;
+            this.generation = generation;
+            this.rootGeneration = rootGeneration;
+        }
+
+        public boolean isCurrent( int generation, int rootGeneration ) {
+            return this.generation == generation && this.rootGeneration == rootGeneration;
+        }
+    }
 }
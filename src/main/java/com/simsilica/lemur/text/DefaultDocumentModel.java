@@ -40,6 +40,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
 
+import com.jme3.util.SafeArrayList;
+
 import com.simsilica.lemur.core.VersionedObject;
 import com.simsilica.lemur.core.VersionedReference;
 
@@ -49,9 +51,11 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DefaultDocumentModel implements DocumentModel, Cloneable {
+public class DefaultDocumentModel implements ObservableDocumentModel, Cloneable {
 
     private long version;
+    private SafeArrayList<DocumentModelListener> listeners
+                            = new SafeArrayList<DocumentModelListener>(DocumentModelListener.class);
     private List<StringBuilder> lines = new ArrayList<StringBuilder>();
     private String composite = null;
     private Carat carat = new Carat();
@@ -79,6 +83,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
             }
             
             result.carat = carat.clone();
+            result.listeners = new SafeArrayList<DocumentModelListener>(DocumentModelListener.class);
             
             // And reset the version because it's ok for this document to start
             // over
@@ -259,8 +264,32 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
         return carat.get();
     }
 
+    @Override
+    public void addDocumentModelListener( DocumentModelListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeDocumentModelListener( DocumentModelListener l ) {
+        listeners.remove(l);
+    }
+
+    protected void fireChange( int offset, int removedLength, int insertedLength,
+                               int startLine, int removedLineCount, int insertedLineCount ) {
+        if( listeners.isEmpty() ) {
+            return;
+        }
+        DocumentChange change = new DocumentChange(this, offset, removedLength, insertedLength,
+                                                   startLine, removedLineCount, insertedLineCount);
+        for( DocumentModelListener l : listeners.getArray() ) {
+            l.documentChanged(change);
+        }
+    }
+
     @Override
     public void insertNewLine() {
+        int offset = carat.get();
+        int startLine = line;
         if( line == lines.size() - 1 && column == lines.get(line).length() ) {
             lines.add(new StringBuilder());
         } else {
@@ -277,6 +306,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
         composite = null;
         version++;
+        fireChange(offset, 0, 1, startLine, 1, 2);
     }
 
     @Override
@@ -296,12 +326,15 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
         if( location[0] >= lines.size() )
             return; // nothing to delete
 
+        int startLine = location[0];
+        int lineCount = 1;
         StringBuilder row = lines.get(location[0]);
         if( location[1] == row.length() ) {
             if( location[0] < lines.size() - 1 ) {
                 // Need to merge this line with the next
                 row.append(lines.get(location[0]+1));
                 lines.remove(location[0] + 1);
+                lineCount = 2;
             } else {
                 // Nothing to do and I don't know how the earlier
                 // check failed.
@@ -323,6 +356,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
         composite = null;
         version++;
+        fireChange(pos, 1, 0, startLine, lineCount, 1);
     }
 
     @Override
@@ -330,6 +364,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
         if( carat.get() == 0 )
             return;
 
+        int lineCount = 1;
         if( column == 0 ) {
             if( line > 0 ) {
                 // Need to merge this line with the previous
@@ -337,6 +372,7 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
                 lines.get(line-1).append(lines.remove(line));
                 carat.decrement();
                 line--;
+                lineCount = 2;
             } else {
                 // Nothing to do
                 return;
@@ -349,21 +385,25 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
         }
         composite = null;
         version++;
+        fireChange(carat.get(), 1, 0, line, lineCount, 1);
     }
 
     @Override
     public void delete() {
         StringBuilder row = lines.get(line);
+        int lineCount = 1;
         if( column == row.length() ) {
             if( line >= lines.size() - 1 )
                 return;
 
             row.append(lines.remove(line+1));
+            lineCount = 2;
         } else {
             row.deleteCharAt(column);
         }
         composite = null;
         version++;
+        fireChange(carat.get(), 1, 0, line, lineCount, 1);
     }
 
     /**
@@ -391,8 +431,19 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
     @Override
     public void insert( char c ) {
+        int offset = carat.get();
+        if( insertChar(c) ) {
+            fireChange(offset, 0, 1, line, 1, 1);
+        }
+    }
+
+    /**
+     *  Inserts the character without notifying listeners, returning
+     *  true if the character was inserted.
+     */
+    protected boolean insertChar( char c ) {
         if( c < 32 )
-            return;
+            return false;
 
         switch( c ) {
             default:
@@ -406,12 +457,20 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
         composite = null;
         version++;
+        return true;
     }
 
     @Override
     public void insert( String text ) {
+        int offset = carat.get();
+        int count = 0;
         for( int i = 0; i < text.length(); i++ ) {
-            insert(text.charAt(i));
+            if( insertChar(text.charAt(i)) ) {
+                count++;
+            }
+        }
+        if( count > 0 ) {
+            fireChange(offset, 0, count, line, 1, 1);
         }
     }
 
@@ -436,6 +495,12 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
     }
 
     protected void parseText( String text ) {
+        int oldLength = -1;
+        int oldLineCount = lines.size();
+        for( StringBuilder sb : lines ) {
+            oldLength += sb.length() + 1;
+        }
+
         composite = null;
         lines.clear();
         StringTokenizer st = new StringTokenizer(text, "\r\n");
@@ -451,6 +516,10 @@ public class DefaultDocumentModel implements DocumentModel, Cloneable {
 
         end(false);
         version++;
+
+        if( oldLineCount > 0 ) {
+            fireChange(0, oldLength, carat.get(), 0, oldLineCount, lines.size());
+        }
     }
 
     protected void createComposite() {
@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.text;
+
+
+/**
+ *  Describes a single edit to a DocumentModel as a replaced range of
+ *  characters and the range of lines that it touched.  In the text
+ *  before the change, removedLength characters starting at offset were
+ *  replaced with insertedLength characters.  In terms of lines, the
+ *  removedLineCount lines starting at startLine were replaced by
+ *  insertedLineCount lines starting at the same line.  Lines outside
+ *  of that range did not change other than possibly moving up or down.
+ */
+public class DocumentChange {
+
+    private final DocumentModel source;
+    private final int offset;
+    private final int removedLength;
+    private final int insertedLength;
+    private final int startLine;
+    private final int removedLineCount;
+    private final int insertedLineCount;
+
+    public DocumentChange( DocumentModel source, int offset, int removedLength, int insertedLength,
+                           int startLine, int removedLineCount, int insertedLineCount ) {
+        this.source = source;
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.insertedLength = insertedLength;
+        this.startLine = startLine;
+        this.removedLineCount = removedLineCount;
+        this.insertedLineCount = insertedLineCount;
+    }
+
+    /**
+     *  Returns a copy of this change as reported by a different document
+     *  model, for example a filter that wraps the original source.
+     */
+    public DocumentChange withSource( DocumentModel source ) {
+        return new DocumentChange(source, offset, removedLength, insertedLength,
+                                  startLine, removedLineCount, insertedLineCount);
+    }
+
+    public DocumentModel getSource() {
+        return source;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    public int getInsertedLength() {
+        return insertedLength;
+    }
+
+    public int getStartLine() {
+        return startLine;
+    }
+
+    public int getRemovedLineCount() {
+        return removedLineCount;
+    }
+
+    public int getInsertedLineCount() {
+        return insertedLineCount;
+    }
+
+    /**
+     *  Returns the change in the document's line count.
+     */
+    public int getLineDelta() {
+        return insertedLineCount - removedLineCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[offset=" + offset + ", removed=" + removedLength
+                + ", inserted=" + insertedLength + ", startLine=" + startLine
+                + ", removedLines=" + removedLineCount + ", insertedLines=" + insertedLineCount + "]";
+    }
+}
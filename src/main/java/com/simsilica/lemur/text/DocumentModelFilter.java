@@ -40,6 +40,8 @@ import java.util.Objects;
 
 import com.google.common.base.Function;
 
+import com.jme3.util.SafeArrayList;
+
 import com.simsilica.lemur.core.VersionedReference;
 
 /**
@@ -54,9 +56,12 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DocumentModelFilter implements DocumentModel {
+public class DocumentModelFilter implements ObservableDocumentModel {
  
     private DocumentModel delegate;
+    private SafeArrayList<DocumentModelListener> listeners
+                            = new SafeArrayList<DocumentModelListener>(DocumentModelListener.class);
+    private DocumentModelListener relay = new ChangeRelay();
     private Function<Character, Character> inputTransform;
     private Function<String, String> outputTransform;
     private String lastOutput = null;
@@ -107,6 +112,7 @@ public class DocumentModelFilter implements DocumentModel {
         }
         this.outputTransform = f;
         version++;
+        fireFullChange();
     }
     
     public Function<String, String> getOutputTransform() {
@@ -126,6 +132,7 @@ public class DocumentModelFilter implements DocumentModel {
         }
         this.inputTransform = f;
         version++;
+        fireFullChange();
     }
     
     public Function<Character, Character> getInputTransform() {
@@ -309,9 +316,75 @@ public class DocumentModelFilter implements DocumentModel {
 
     @Override
     public void insert( String text ) {
+        // Filter it all first so that the delegate can insert it
+        // as one change
+        StringBuilder sb = new StringBuilder(text.length());
         for( int i = 0; i < text.length(); i++ ) {
-            insert(text.charAt(i));
+            Character x = filterInput(text.charAt(i));
+            if( x != null ) {
+                sb.append(x);
+            }
+        }
+        if( sb.length() > 0 ) {
+            delegate.insert(sb.toString());
+        }
+    }
+
+    /**
+     *  Returns true if the listeners added to this filter will actually
+     *  hear about changes to the underlying text.  This is only the case
+     *  when the delegate is an ObservableDocumentModel that can itself
+     *  report changes.  Otherwise only transform changes are reported
+     *  and callers should not rely on the events.
+     */
+    public boolean canReportChanges() {
+        if( delegate instanceof DocumentModelFilter ) {
+            return ((DocumentModelFilter)delegate).canReportChanges();
         }
+        return delegate instanceof ObservableDocumentModel;
+    }
+
+    /**
+     *  Adds a listener that will be notified about changes to this filter's
+     *  delegate and to this filter's transforms.  Changes are only reported
+     *  for delegates that are ObservableDocumentModels.  The ranges are
+     *  passed through as is which is correct as long as the output transform
+     *  replaces text character for character.  All of the TextFilters
+     *  output transforms do.
+     */
+    @Override
+    public void addDocumentModelListener( DocumentModelListener l ) {
+        if( listeners.isEmpty() && delegate instanceof ObservableDocumentModel ) {
+            ((ObservableDocumentModel)delegate).addDocumentModelListener(relay);
+        }
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeDocumentModelListener( DocumentModelListener l ) {
+        if( listeners.remove(l) && listeners.isEmpty()
+            && delegate instanceof ObservableDocumentModel ) {
+            ((ObservableDocumentModel)delegate).removeDocumentModelListener(relay);
+        }
+    }
+
+    protected void fireChange( DocumentChange change ) {
+        for( DocumentModelListener l : listeners.getArray() ) {
+            l.documentChanged(change);
+        }
+    }
+
+    /**
+     *  Notifies listeners that all of the text should be considered
+     *  changed, for example because a transform was replaced.
+     */
+    protected void fireFullChange() {
+        if( listeners.isEmpty() ) {
+            return;
+        }
+        int length = delegate.getText().length();
+        int lines = delegate.getLineCount();
+        fireChange(new DocumentChange(this, 0, length, length, 0, lines, lines));
     }
 
     @Override
@@ -334,5 +407,12 @@ public class DocumentModelFilter implements DocumentModel {
     @Override
     public VersionedReference<Integer> createCaratReference() {
         return delegate.createCaratReference();
-    }    
+    }
+
+    private class ChangeRelay implements DocumentModelListener {
+        @Override
+        public void documentChanged( DocumentChange change ) {
+            fireChange(change.withSource(DocumentModelFilter.this));
+        }
+    }
 }
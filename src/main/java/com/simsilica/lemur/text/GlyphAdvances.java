@@ -0,0 +1,238 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.text;
+
+import java.util.*;
+
+import com.jme3.font.BitmapCharacter;
+import com.jme3.font.BitmapCharacterSet;
+import com.jme3.font.BitmapFont;
+
+
+/**
+ *  Keeps running glyph advances for a single line of text so that the
+ *  width of any span of the line can be found in constant time and the
+ *  start of a span that fits a given width can be found with a binary
+ *  search.  Widths are in unscaled font units, the same as
+ *  BitmapFont.getLineWidth(), and follow the same pen position rules as
+ *  BitmapText: the advance of each character plus the kerning with the
+ *  character before it, with the first character of a span pulled back
+ *  by its x offset.
+ *
+ *  <p>setText() only recalculates the advances after the first character
+ *  that changed so appending to or editing near the end of a long line
+ *  is cheap.</p>
+ */
+public class GlyphAdvances {
+
+    private static final Map<BitmapFont, FontTable> tables = new WeakHashMap<BitmapFont, FontTable>();
+
+    private final BitmapFont font;
+    private final FontTable table;
+    private String text = "";
+
+    // prefix[i] is the pen position after the first i characters,
+    // including the kerning between them.
+    private float[] prefix = new float[16];
+
+    public GlyphAdvances( BitmapFont font ) {
+        this.font = font;
+        this.table = getTable(font);
+    }
+
+    private static FontTable getTable( BitmapFont font ) {
+        synchronized( tables ) {
+            FontTable result = tables.get(font);
+            if( result == null ) {
+                result = new FontTable(font.getCharSet());
+                tables.put(font, result);
+            }
+            return result;
+        }
+    }
+
+    public BitmapFont getFont() {
+        return font;
+    }
+
+    /**
+     *  Sets the text to track, recalculating only the advances that follow
+     *  the first character that is different from the current text.
+     */
+    public void setText( String s ) {
+        if( s == null ) {
+            s = "";
+        }
+        if( s == text ) {
+            return;
+        }
+        int max = Math.min(s.length(), text.length());
+        int common = 0;
+        while( common < max && s.charAt(common) == text.charAt(common) ) {
+            common++;
+        }
+        if( prefix.length < s.length() + 1 ) {
+            prefix = Arrays.copyOf(prefix, Math.max(s.length() + 1, prefix.length * 2));
+        }
+        for( int i = common; i < s.length(); i++ ) {
+            char c = s.charAt(i);
+            float advance = table.getAdvance(c);
+            if( i > 0 ) {
+                advance += table.getKerning(s.charAt(i - 1), c);
+            }
+            prefix[i + 1] = prefix[i] + advance;
+        }
+        this.text = s;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     *  Returns the unscaled width of the characters from start up to but
+     *  not including end, as they would be drawn if the line started at
+     *  start.
+     */
+    public float getWidth( int start, int end ) {
+        if( end <= start ) {
+            return 0;
+        }
+        float width = prefix[end] - prefix[start];
+        char first = text.charAt(start);
+        if( start > 0 ) {
+            // The kerning with the previous character doesn't apply when
+            // the span starts here
+            width -= table.getKerning(text.charAt(start - 1), first);
+        }
+        return width - table.getXOffset(first);
+    }
+
+    /**
+     *  Returns the smallest start index such that the characters from
+     *  start to end are no wider than maxWidth.
+     */
+    public int findStart( int end, float maxWidth ) {
+        int low = 0;
+        int high = end;
+        while( low < high ) {
+            int mid = (low + high) >>> 1;
+            if( getWidth(mid, end) <= maxWidth ) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     *  Returns the unscaled width of a single line of plain text as a
+     *  BitmapText would report it: the pen position up to the last character
+     *  plus that character's visible width.  This walks the shared per-font
+     *  tables directly and doesn't create anything so it is much cheaper
+     *  than laying out a BitmapText.  The text must not contain line breaks,
+     *  tabs, or color tags.
+     */
+    public static float getLineWidth( BitmapFont font, CharSequence s ) {
+        int size = s.length();
+        if( size == 0 ) {
+            return 0;
+        }
+        FontTable table = getTable(font);
+        char c = s.charAt(0);
+        float x = -table.getXOffset(c);
+        for( int i = 1; i < size; i++ ) {
+            char next = s.charAt(i);
+            x += table.getAdvance(c) + table.getKerning(c, next);
+            c = next;
+        }
+        return x + table.getXOffset(c) + table.getCharWidth(c);
+    }
+
+    /**
+     *  Per-font glyph metrics with a direct lookup table for the first
+     *  256 characters.
+     */
+    private static class FontTable {
+        private final BitmapCharacterSet charSet;
+        private final float[] advances = new float[256];
+        private final float[] xOffsets = new float[256];
+        private final float[] widths = new float[256];
+
+        public FontTable( BitmapCharacterSet charSet ) {
+            this.charSet = charSet;
+            for( int i = 0; i < 256; i++ ) {
+                BitmapCharacter c = charSet.getCharacter(i);
+                if( c != null ) {
+                    advances[i] = c.getXAdvance();
+                    xOffsets[i] = c.getXOffset();
+                    widths[i] = c.getWidth();
+                }
+            }
+        }
+
+        public float getAdvance( char c ) {
+            if( c < 256 ) {
+                return advances[c];
+            }
+            BitmapCharacter bc = charSet.getCharacter(c);
+            return bc == null ? 0 : bc.getXAdvance();
+        }
+
+        public float getXOffset( char c ) {
+            if( c < 256 ) {
+                return xOffsets[c];
+            }
+            BitmapCharacter bc = charSet.getCharacter(c);
+            return bc == null ? 0 : bc.getXOffset();
+        }
+
+        public float getCharWidth( char c ) {
+            if( c < 256 ) {
+                return widths[c];
+            }
+            BitmapCharacter bc = charSet.getCharacter(c);
+            return bc == null ? 0 : bc.getWidth();
+        }
+
+        public float getKerning( char first, char second ) {
+            BitmapCharacter bc = charSet.getCharacter(first);
+            return bc == null ? 0 : bc.getKerning(second);
+        }
+    }
+}
@@ -0,0 +1,752 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.jme3.util.SafeArrayList;
+
+import com.simsilica.lemur.core.VersionedObject;
+import com.simsilica.lemur.core.VersionedReference;
+
+
+/**
+ *  A DocumentModel implementation for very large documents.  The text
+ *  is kept as a balanced tree of lines (a rope whose leaves are lines)
+ *  where every node knows how many lines and characters are below it.
+ *  That makes line lookups, position to line/column lookups, and
+ *  inserting or removing lines O(log n) in the number of lines instead
+ *  of O(n) as with DefaultDocumentModel.
+ *
+ *  <p>Bulk edits through insert(String), insert(int, String), and
+ *  delete(int, int) are applied in one step with a single version
+ *  change.  The full text returned by getText() is only built when
+ *  it is asked for and then kept until the next edit.</p>
+ *
+ *  <p>Unlike DefaultDocumentModel, empty lines are preserved and
+ *  inserted text may contain line breaks.  "\n", "\r\n", and "\r" all
+ *  count as a line break.  Other control characters are skipped.</p>
+ */
+public class RopeDocumentModel implements ObservableDocumentModel, Cloneable {
+
+    private long version;
+    private SafeArrayList<DocumentModelListener> listeners
+                            = new SafeArrayList<DocumentModelListener>(DocumentModelListener.class);
+    private boolean suppressEvents;
+    private Random random = new Random();
+    private Node root;
+    private String composite = null;
+    private Carat carat = new Carat();
+    private int line = 0;
+    private int column = 0;
+
+    // Reused for split results
+    private Node[] splitTemp = new Node[2];
+
+    public RopeDocumentModel() {
+        parseText("");
+    }
+
+    public RopeDocumentModel( String text ) {
+        parseText(text != null ? text : "");
+    }
+
+    @Override
+    public RopeDocumentModel clone() {
+        try {
+            RopeDocumentModel result = (RopeDocumentModel)super.clone();
+
+            // Deep clone the lines
+            List<StringBuilder> lines = new ArrayList<StringBuilder>(getLineCount());
+            collectLines(root, lines);
+            result.random = new Random();
+            result.splitTemp = new Node[2];
+            result.root = null;
+            for( StringBuilder sb : lines ) {
+                result.root = result.merge(result.root, result.newNode(new StringBuilder(sb)));
+            }
+
+            result.carat = carat.clone();
+            result.listeners = new SafeArrayList<DocumentModelListener>(DocumentModelListener.class);
+
+            // And reset the version because it's ok for this document to start
+            // over
+            result.version = 0;
+
+            return result;
+        } catch( CloneNotSupportedException e ) {
+            throw new RuntimeException("Clone not supported", e);
+        }
+    }
+
+    @Override
+    public void setText( String text ) {
+        parseText(text != null ? text : "");
+    }
+
+    @Override
+    public String getText() {
+        if( composite == null ) {
+            StringBuilder sb = new StringBuilder(chars(root));
+            appendText(root, sb);
+            // Trim the extra new line from the last line
+            sb.setLength(sb.length() - 1);
+            composite = sb.toString();
+        }
+        return composite;
+    }
+
+    /**
+     *  Returns the number of characters in the document including
+     *  the new lines between lines.
+     */
+    public int getLength() {
+        return chars(root) - 1;
+    }
+
+    @Override
+    public String getLine( int line ) {
+        return getNode(line).text.toString();
+    }
+
+    /**
+     *  Returns the length of the specified line without creating
+     *  a String for it.
+     */
+    public int getLineLength( int line ) {
+        return getNode(line).text.length();
+    }
+
+    @Override
+    public int getLineCount() {
+        return lines(root);
+    }
+
+    /**
+     *  Returns the text position of the first character of the
+     *  specified line.
+     */
+    public int getLineStart( int line ) {
+        int result = 0;
+        Node n = root;
+        while( n != null ) {
+            int left = lines(n.left);
+            if( line < left ) {
+                n = n.left;
+            } else if( line == left ) {
+                return result + chars(n.left);
+            } else {
+                result += chars(n.left) + n.text.length() + 1;
+                line -= left + 1;
+                n = n.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Line:" + line);
+    }
+
+    /**
+     *  Returns the line that contains the specified text position.
+     *  A position at the end of a line, just before its new line, is
+     *  considered part of that line.
+     */
+    public int getLineAt( int pos ) {
+        int result = 0;
+        Node n = root;
+        while( n != null ) {
+            int left = chars(n.left);
+            if( pos < left ) {
+                n = n.left;
+                continue;
+            }
+            pos -= left;
+            if( pos <= n.text.length() || n.right == null ) {
+                return result + lines(n.left);
+            }
+            pos -= n.text.length() + 1;
+            result += lines(n.left) + 1;
+            n = n.right;
+        }
+        return getLineCount() - 1;
+    }
+
+    @Override
+    public int getCarat() {
+        return carat.get();
+    }
+
+    @Override
+    public int getCaratLine() {
+        return line;
+    }
+
+    @Override
+    public int getCaratColumn() {
+        return column;
+    }
+
+    @Override
+    public int getAnchorLine() {
+        return getCaratLine();
+    }
+
+    @Override
+    public int getAnchorColumn() {
+        return getCaratColumn();
+    }
+
+    @Override
+    public int getAnchor() {
+        return getCarat();
+    }
+
+    @Override
+    public int home( boolean currentLine ) {
+        if( currentLine ) {
+            carat.move(-column);
+            column = 0;
+        } else {
+            carat.set(0);
+            column = 0;
+            line = 0;
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int end( boolean currentLine ) {
+        if( currentLine ) {
+            int length = getLineLength(line);
+            carat.move(length - column);
+            column = length;
+        } else {
+            line = getLineCount() - 1;
+            column = getLineLength(line);
+            carat.set(getLength());
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int up() {
+        if( line == 0 )
+            return carat.get();
+        line--;
+        column = Math.min(column, getLineLength(line));
+        carat.set(getLineStart(line) + column);
+        return carat.get();
+    }
+
+    @Override
+    public int down() {
+        if( line == getLineCount() - 1 )
+            return carat.get();
+        line++;
+        column = Math.min(column, getLineLength(line));
+        carat.set(getLineStart(line) + column);
+        return carat.get();
+    }
+
+    @Override
+    public int left() {
+        if( carat.get() == 0 )
+            return 0;
+        carat.decrement();
+        column--;
+        if( column < 0 ) {
+            line--;
+            column = getLineLength(line);
+        }
+        return carat.get();
+    }
+
+    @Override
+    public int right() {
+        if( column < getLineLength(line) ) {
+            column++;
+            carat.increment();
+        } else if( line < getLineCount() - 1 ) {
+            line++;
+            column = 0;
+            carat.increment();
+        }
+        return carat.get();
+    }
+
+    @Override
+    public void addDocumentModelListener( DocumentModelListener l ) {
+        listeners.add(l);
+    }
+
+    @Override
+    public void removeDocumentModelListener( DocumentModelListener l ) {
+        listeners.remove(l);
+    }
+
+    protected void fireChange( int offset, int removedLength, int insertedLength,
+                               int startLine, int removedLineCount, int insertedLineCount ) {
+        if( suppressEvents || listeners.isEmpty() ) {
+            return;
+        }
+        DocumentChange change = new DocumentChange(this, offset, removedLength, insertedLength,
+                                                   startLine, removedLineCount, insertedLineCount);
+        for( DocumentModelListener l : listeners.getArray() ) {
+            l.documentChanged(change);
+        }
+    }
+
+    @Override
+    public void insertNewLine() {
+        insert(carat.get(), "\n", true);
+    }
+
+    @Override
+    public void deleteCharAt( int pos ) {
+        delete(pos, pos + 1);
+    }
+
+    @Override
+    public void backspace() {
+        if( carat.get() == 0 )
+            return;
+        delete(carat.get() - 1, carat.get());
+    }
+
+    @Override
+    public void delete() {
+        delete(carat.get(), carat.get() + 1);
+    }
+
+    @Override
+    public void insert( char c ) {
+        if( c < 32 )
+            return;
+        int offset = carat.get();
+        Node n = getNode(line);
+        n.text.insert(column, c);
+        lineChanged(line);
+        carat.increment();
+        column++;
+        composite = null;
+        version++;
+        fireChange(offset, 0, 1, line, 1, 1);
+    }
+
+    /**
+     *  Inserts the text at the current carat position and moves the
+     *  carat to the end of the inserted text.
+     */
+    @Override
+    public void insert( String text ) {
+        insert(carat.get(), text, true);
+    }
+
+    /**
+     *  Inserts the text at the specified position.  If the carat is after
+     *  the position then it is moved along with the text that follows it.
+     */
+    public void insert( int pos, String text ) {
+        insert(pos, text, false);
+    }
+
+    /**
+     *  Removes the characters from start up to but not including end,
+     *  including any new lines between them.
+     */
+    public void delete( int start, int end ) {
+        int length = getLength();
+        start = Math.max(0, start);
+        end = Math.min(length, end);
+        if( start >= end ) {
+            return;
+        }
+
+        int startLine = getLineAt(start);
+        int startColumn = start - getLineStart(startLine);
+        int endLine = getLineAt(end);
+        int endColumn = end - getLineStart(endLine);
+
+        StringBuilder first = getNode(startLine).text;
+        if( startLine == endLine ) {
+            first.delete(startColumn, endColumn);
+        } else {
+            StringBuilder last = getNode(endLine).text;
+            first.setLength(startColumn);
+            first.append(last, endColumn, last.length());
+            removeLines(startLine + 1, endLine + 1);
+        }
+        lineChanged(startLine);
+
+        int pos = carat.get();
+        if( pos >= end ) {
+            carat.set(pos - (end - start));
+        } else if( pos > start ) {
+            carat.set(start);
+        }
+        resetCaratLocation();
+
+        composite = null;
+        version++;
+        fireChange(start, end - start, 0, startLine, endLine - startLine + 1, 1);
+    }
+
+    protected void insert( int pos, String text, boolean moveCarat ) {
+        pos = Math.max(0, Math.min(getLength(), pos));
+
+        // Break the text into lines
+        List<StringBuilder> pieces = new ArrayList<StringBuilder>();
+        StringBuilder current = new StringBuilder();
+        int count = 0;
+        for( int i = 0; i < text.length(); i++ ) {
+            char c = text.charAt(i);
+            if( c == '\r' || c == '\n' ) {
+                if( c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n' ) {
+                    i++;
+                }
+                pieces.add(current);
+                current = new StringBuilder();
+                count++;
+            } else if( c >= 32 ) {
+                current.append(c);
+                count++;
+            }
+        }
+        pieces.add(current);
+        if( count == 0 ) {
+            return;
+        }
+
+        int insertLine = getLineAt(pos);
+        int insertColumn = pos - getLineStart(insertLine);
+        StringBuilder row = getNode(insertLine).text;
+        if( pieces.size() == 1 ) {
+            row.insert(insertColumn, pieces.get(0));
+        } else {
+            StringBuilder last = pieces.get(pieces.size() - 1);
+            last.append(row, insertColumn, row.length());
+            row.setLength(insertColumn);
+            row.append(pieces.get(0));
+
+            Node added = null;
+            for( int i = 1; i < pieces.size(); i++ ) {
+                added = merge(added, newNode(pieces.get(i)));
+            }
+            insertLines(insertLine + 1, added);
+        }
+        lineChanged(insertLine);
+
+        int caratPos = carat.get();
+        if( caratPos > pos || (moveCarat && caratPos == pos) ) {
+            carat.set(caratPos + count);
+        }
+        resetCaratLocation();
+
+        composite = null;
+        version++;
+        fireChange(pos, 0, count, insertLine, 1, pieces.size());
+    }
+
+    /**
+     *  Recalculates the carat line and column from its position.
+     */
+    protected void resetCaratLocation() {
+        line = getLineAt(carat.get());
+        column = carat.get() - getLineStart(line);
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public DocumentModel getObject() {
+        return this;
+    }
+
+    @Override
+    public VersionedReference<DocumentModel> createReference() {
+        return new VersionedReference<DocumentModel>(this);
+    }
+
+    @Override
+    public VersionedReference<Integer> createCaratReference() {
+        return carat.createReference();
+    }
+
+    protected void parseText( String text ) {
+        int oldLength = root == null ? 0 : getLength();
+        int oldLineCount = getLineCount();
+
+        composite = null;
+        root = newNode(new StringBuilder());
+        carat.set(0);
+        line = 0;
+        column = 0;
+        suppressEvents = true;
+        try {
+            insert(0, text, false);
+        } finally {
+            suppressEvents = false;
+        }
+
+        end(false);
+        version++;
+
+        if( oldLineCount > 0 ) {
+            fireChange(0, oldLength, getLength(), 0, oldLineCount, getLineCount());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[lines=" + getLineCount() + ", length=" + getLength() + "]";
+    }
+
+    /*
+     *  The tree is a treap keyed implicitly by line index.  Each node
+     *  is one line and tracks the number of lines and characters in its
+     *  subtree.  Every line counts one extra character for its new line,
+     *  including the last one which is why getLength() subtracts one.
+     */
+
+    private static int lines( Node n ) {
+        return n == null ? 0 : n.lines;
+    }
+
+    private static int chars( Node n ) {
+        return n == null ? 0 : n.chars;
+    }
+
+    private static Node update( Node n ) {
+        n.lines = 1 + lines(n.left) + lines(n.right);
+        n.chars = n.text.length() + 1 + chars(n.left) + chars(n.right);
+        return n;
+    }
+
+    private Node newNode( StringBuilder text ) {
+        Node n = new Node(text, random.nextInt());
+        return update(n);
+    }
+
+    private Node getNode( int index ) {
+        Node n = root;
+        while( n != null ) {
+            int left = lines(n.left);
+            if( index < left ) {
+                n = n.left;
+            } else if( index == left ) {
+                return n;
+            } else {
+                index -= left + 1;
+                n = n.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Line:" + index);
+    }
+
+    /**
+     *  Updates the sizes along the path to the specified line after its
+     *  text has changed.
+     */
+    private void lineChanged( int index ) {
+        lineChanged(root, index);
+    }
+
+    private static void lineChanged( Node n, int index ) {
+        int left = lines(n.left);
+        if( index < left ) {
+            lineChanged(n.left, index);
+        } else if( index > left ) {
+            lineChanged(n.right, index - left - 1);
+        }
+        update(n);
+    }
+
+    /**
+     *  Splits the tree into the first count lines and the rest, storing
+     *  them in splitTemp[0] and splitTemp[1].
+     */
+    private void split( Node n, int count ) {
+        if( n == null ) {
+            splitTemp[0] = null;
+            splitTemp[1] = null;
+            return;
+        }
+        int left = lines(n.left);
+        if( count <= left ) {
+            split(n.left, count);
+            n.left = splitTemp[1];
+            splitTemp[1] = update(n);
+        } else {
+            split(n.right, count - left - 1);
+            n.right = splitTemp[0];
+            splitTemp[0] = update(n);
+        }
+    }
+
+    private Node merge( Node a, Node b ) {
+        if( a == null ) {
+            return b;
+        }
+        if( b == null ) {
+            return a;
+        }
+        if( a.priority > b.priority ) {
+            a.right = merge(a.right, b);
+            return update(a);
+        } else {
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+    }
+
+    private void insertLines( int index, Node lines ) {
+        split(root, index);
+        Node before = splitTemp[0];
+        Node after = splitTemp[1];
+        root = merge(merge(before, lines), after);
+    }
+
+    private void removeLines( int from, int to ) {
+        split(root, to);
+        Node after = splitTemp[1];
+        split(splitTemp[0], from);
+        root = merge(splitTemp[0], after);
+    }
+
+    private static void collectLines( Node n, List<StringBuilder> result ) {
+        if( n == null ) {
+            return;
+        }
+        collectLines(n.left, result);
+        result.add(n.text);
+        collectLines(n.right, result);
+    }
+
+    private static void appendText( Node n, StringBuilder sb ) {
+        if( n == null ) {
+            return;
+        }
+        appendText(n.left, sb);
+        sb.append(n.text);
+        sb.append('\n');
+        appendText(n.right, sb);
+    }
+
+    private static class Node {
+        final StringBuilder text;
+        final int priority;
+        Node left;
+        Node right;
+        int lines;
+        int chars;
+
+        public Node( StringBuilder text, int priority ) {
+            this.text = text;
+            this.priority = priority;
+        }
+    }
+
+    private class Carat implements VersionedObject<Integer> {
+        private int value;
+        private long version;
+
+        public Carat() {
+        }
+
+        public Carat clone() {
+            Carat result = new Carat();
+            result.value = value;
+            // Don't need to set the version because it's a new object and
+            // can start over.
+            return result;
+        }
+
+        public final int get() {
+            return value;
+        }
+
+        public final int set( int value ) {
+            if( this.value == value ) {
+                return value;
+            }
+            this.value = value;
+            version++;
+            return value;
+        }
+
+        public final int move( int amount ) {
+            value += amount;
+            version++;
+            return value;
+        }
+
+        public final int increment() {
+            value++;
+            version++;
+            return value;
+        }
+
+        public final int decrement() {
+            value--;
+            version++;
+            return value;
+        }
+
+        @Override
+        public final long getVersion() {
+            return version;
+        }
+
+        @Override
+        public final Integer getObject() {
+            return value;
+        }
+
+        @Override
+        public final VersionedReference<Integer> createReference() {
+            return new VersionedReference<Integer>(this);
+        }
+
+        @Override
+        public final String toString() {
+            return "Carat[" + value + "]";
+        }
+    }
+}